@@ -0,0 +1,94 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.graphics.RectF;
+import android.util.Property;
+import android.view.View;
+
+/**
+ * Shared fixtures for the benchmarks.
+ */
+final class Benchmarks {
+
+  /**
+   * An alpha property that is not a {@link FloatTweenProperty}, so that it runs on the boxed
+   * object path.
+   */
+  static final TweenProperty<View, Float> BOXED_ALPHA = new TweenProperty<>(
+    new Property<View, Float>(Float.class, "alpha") {
+      @Override
+      public Float get(View object) {
+        return object.getAlpha();
+      }
+
+      @Override
+      public void set(View object, Float value) {
+        object.setAlpha(value);
+      }
+    }, TweenProperty.NO_OP);
+
+  /**
+   * The bounds of a rectangle, interpolated in place.
+   */
+  static final TweenProperty<RectF, RectF> BOUNDS =
+    new TweenProperty<>(new BoundsProperty(), InPlaceEvaluators.RECT_F);
+
+  /**
+   * The bounds of a rectangle, interpolated into a new rectangle on every frame.
+   */
+  static final TweenProperty<RectF, RectF> ALLOCATING_BOUNDS = new TweenProperty<>(
+    new BoundsProperty(), InPlaceEvaluators.allocating(InPlaceEvaluators.RECT_F));
+
+  private Benchmarks() {
+  }
+
+  /**
+   * Returns keyframe values that alternate between 0 and 1.
+   */
+  static float[] createValues(int count) {
+    float[] values = new float[count];
+    for (int i = 0; i < count; i++) {
+      values[i] = i % 2;
+    }
+    return values;
+  }
+
+  static Float[] box(float[] values) {
+    Float[] boxed = new Float[values.length];
+    for (int i = 0; i < values.length; i++) {
+      boxed[i] = values[i];
+    }
+    return boxed;
+  }
+
+  private static class BoundsProperty extends Property<RectF, RectF> {
+
+    BoundsProperty() {
+      super(RectF.class, "bounds");
+    }
+
+    @Override
+    public RectF get(RectF object) {
+      return object;
+    }
+
+    @Override
+    public void set(RectF object, RectF value) {
+      object.set(value);
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.view.View;
+
+import com.google.android.material.motion.runtime.PerformerFeatures.ContinuousPerforming.IsActiveToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one frame of the shared {@link TweenEngine} as a function of the number of running
+ * tweens, from the frame callback to the property setters. Tweens repeat infinitely so that every
+ * invocation is a steady-state frame.
+ * <p>
+ * In additive mode every target runs two additive tweens of the same property, which the engine
+ * sums and applies with one setter call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EngineFrameBenchmark {
+
+  private static final long DURATION = 300;
+  private static final long FRAME_INTERVAL = 16;
+
+  @Param({"1", "100", "1000"})
+  public int targets;
+
+  @Param({"false", "true"})
+  public boolean additive;
+
+  private TweenEngine engine;
+  /**
+   * The engine references tokens weakly, so the benchmark keeps them.
+   */
+  private IsActiveToken[] tokens;
+  private long frameTime;
+
+  @Setup
+  public void setUp() {
+    engine = new TweenEngine();
+    int tweensPerTarget = additive ? 2 : 1;
+    tokens = new IsActiveToken[targets * tweensPerTarget];
+    for (int i = 0; i < targets; i++) {
+      View target = new View(null);
+      for (int j = 0; j < tweensPerTarget; j++) {
+        FloatTween tween = new FloatTween(TweenProperty.TRANSLATION_X, DURATION, 0f, 100f);
+        tween.repeatCount = BaseTween.INFINITE;
+        tween.repeatMode = BaseTween.REVERSE;
+        tween.additive = additive;
+
+        IsActiveToken token = new IsActiveToken() {
+          @Override
+          public void terminate() {
+          }
+        };
+        tokens[i * tweensPerTarget + j] = token;
+        engine.add(target, PreparedTween.prepare(tween), 0f, token, null);
+      }
+    }
+  }
+
+  @Benchmark
+  public void frame() {
+    frameTime += FRAME_INTERVAL;
+    engine.doFrame(frameTime);
+  }
+}
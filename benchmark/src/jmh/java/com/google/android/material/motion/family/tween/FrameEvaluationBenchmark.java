@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.graphics.PointF;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of evaluating one frame of a running tween, as a function of its number of
+ * keyframes. Each invocation advances the tween by one 60fps frame of a one second tween, so that
+ * playback walks through every segment.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FrameEvaluationBenchmark {
+
+  private static final long DURATION = 1000;
+  private static final float FRAME = 1f / 60;
+  private static final int PATH_SAMPLES = 1000;
+
+  @Param({"2", "10", "1000"})
+  public int keyframes;
+
+  private FloatKeyframeTrack floatTrack;
+  private ObjectKeyframeTrack<Float> objectTrack;
+  private BakedTrack bakedTrack;
+  private ObjectKeyframeTrack<PointF> pathTrack;
+  private PointF pathValue;
+  private TimeInterpolator timingFunction;
+  private float fraction;
+
+  @Setup
+  public void setUp() {
+    float[] values = Benchmarks.createValues(keyframes);
+    floatTrack = (FloatKeyframeTrack) new FloatTween(TweenProperty.ALPHA, DURATION, values)
+      .createTrack();
+    objectTrack = (ObjectKeyframeTrack<Float>) new Tween<>(
+      Benchmarks.BOXED_ALPHA, DURATION, Benchmarks.box(values)).createTrack();
+    timingFunction = BaseTween.DEFAULT_TIMING_FUNCTION;
+
+    FloatTween baked = new FloatTween(TweenProperty.ALPHA, DURATION, values);
+    baked.bakeInterval = 16;
+    bakedTrack = BakedTrack.bake(baked);
+
+    // A circle, sampled as if by PathMeasure.
+    float[] xs = new float[PATH_SAMPLES];
+    float[] ys = new float[PATH_SAMPLES];
+    for (int i = 0; i < PATH_SAMPLES; i++) {
+      double angle = 2 * Math.PI * i / (PATH_SAMPLES - 1);
+      xs[i] = (float) Math.cos(angle);
+      ys[i] = (float) Math.sin(angle);
+    }
+    pathTrack = (ObjectKeyframeTrack<PointF>) new PathTween<>(
+      TweenProperty.TRANSLATION, DURATION, new PathLookupTable(xs, ys)).createTrack();
+    pathValue = pathTrack.createValue();
+  }
+
+  @Benchmark
+  public float floatTrack() {
+    return floatTrack.getValue(nextFraction(), timingFunction, DURATION, 0f, 0f);
+  }
+
+  @Benchmark
+  public float bakedTrack() {
+    return bakedTrack.getFloatValue(nextFraction(), 0f);
+  }
+
+  @Benchmark
+  public PointF pathTrack() {
+    return pathTrack.getValue(timingFunction.getInterpolation(nextFraction()), null, pathValue);
+  }
+
+  @Benchmark
+  public Float objectTrack() {
+    return objectTrack.getValue(timingFunction.getInterpolation(nextFraction()), 0f);
+  }
+
+  private float nextFraction() {
+    fraction += FRAME;
+    if (fraction > 1f) {
+      fraction = 0f;
+    }
+    return fraction;
+  }
+}
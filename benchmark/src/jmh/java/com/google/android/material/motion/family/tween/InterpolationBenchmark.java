@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.ArgbEvaluator;
+import android.animation.FloatEvaluator;
+import android.animation.TimeInterpolator;
+import android.view.animation.AccelerateDecelerateInterpolator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the timing functions and evaluators used on every frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InterpolationBenchmark {
+
+  private static final float FRAME = 1f / 60;
+
+  private TimeInterpolator accelerateDecelerate;
+  private TimeInterpolator lookupTable;
+  private FloatEvaluator floatEvaluator;
+  private ArgbEvaluator argbEvaluator;
+  private Float startFloat;
+  private Float endFloat;
+  private Integer startColor;
+  private Integer endColor;
+  private float fraction;
+
+  @Setup
+  public void setUp() {
+    accelerateDecelerate = new AccelerateDecelerateInterpolator();
+    lookupTable = LookupTableInterpolator.of(accelerateDecelerate);
+    floatEvaluator = new FloatEvaluator();
+    argbEvaluator = new ArgbEvaluator();
+    startFloat = 0f;
+    endFloat = 1f;
+    startColor = 0xffff0000;
+    endColor = 0xff0000ff;
+  }
+
+  @Benchmark
+  public float accelerateDecelerateInterpolator() {
+    return accelerateDecelerate.getInterpolation(nextFraction());
+  }
+
+  @Benchmark
+  public float lookupTableInterpolator() {
+    return lookupTable.getInterpolation(nextFraction());
+  }
+
+  @Benchmark
+  public Object floatEvaluator() {
+    return floatEvaluator.evaluate(nextFraction(), startFloat, endFloat);
+  }
+
+  @Benchmark
+  public Object argbEvaluator() {
+    return argbEvaluator.evaluate(nextFraction(), startColor, endColor);
+  }
+
+  private float nextFraction() {
+    fraction += FRAME;
+    if (fraction > 1f) {
+      fraction = 0f;
+    }
+    return fraction;
+  }
+}
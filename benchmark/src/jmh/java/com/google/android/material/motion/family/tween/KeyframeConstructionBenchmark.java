@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of turning a plan into a keyframe track, with and without the compiled track
+ * cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KeyframeConstructionBenchmark {
+
+  @Param({"2", "10", "1000"})
+  public int keyframes;
+
+  private FloatTween floatTween;
+  private Tween<Float> boxedTween;
+
+  @Setup
+  public void setUp() {
+    floatTween = new FloatTween(TweenProperty.ALPHA, 300, Benchmarks.createValues(keyframes));
+    boxedTween = new Tween<>(
+      Benchmarks.BOXED_ALPHA, 300, Benchmarks.box(Benchmarks.createValues(keyframes)));
+  }
+
+  @Benchmark
+  public KeyframeTrack createFloatTrack() {
+    return floatTween.createTrack();
+  }
+
+  @Benchmark
+  public KeyframeTrack createObjectTrack() {
+    return boxedTween.createTrack();
+  }
+
+  @Benchmark
+  public KeyframeTrack compileCachedFloatTrack() {
+    return KeyframeTrack.compile(floatTween);
+  }
+}
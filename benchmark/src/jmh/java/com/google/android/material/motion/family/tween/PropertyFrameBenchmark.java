@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.graphics.RectF;
+import android.view.View;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a complete frame of a tween, from evaluation to the property setter, for a boxed
+ * property and for a primitive float property, and for a rectangle property interpolated into a
+ * new value and in place.
+ * <p>
+ * Run with the gc profiler to compare allocations per frame, reported as
+ * {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PropertyFrameBenchmark {
+
+  private static final long DURATION = 300;
+  private static final float FRAME = 1f / 18;
+
+  private View target;
+  private FloatKeyframeTrack floatTrack;
+  private ObjectKeyframeTrack<Float> boxedTrack;
+  private RectF bounds;
+  private ObjectKeyframeTrack<RectF> allocatingBoundsTrack;
+  private ObjectKeyframeTrack<RectF> boundsTrack;
+  private RectF boundsValue;
+  private TimeInterpolator timingFunction;
+  private float fraction;
+
+  @Setup
+  public void setUp() {
+    target = new View(null);
+    floatTrack = (FloatKeyframeTrack) new FloatTween(TweenProperty.ALPHA, DURATION, 0f, 1f)
+      .createTrack();
+    boxedTrack = (ObjectKeyframeTrack<Float>) new Tween<>(
+      Benchmarks.BOXED_ALPHA, DURATION, 0f, 1f).createTrack();
+    timingFunction = BaseTween.DEFAULT_TIMING_FUNCTION;
+
+    bounds = new RectF();
+    RectF from = new RectF(0f, 0f, 10f, 10f);
+    RectF to = new RectF(50f, 50f, 100f, 100f);
+    allocatingBoundsTrack = (ObjectKeyframeTrack<RectF>) new ObjectTween<>(
+      Benchmarks.ALLOCATING_BOUNDS, DURATION, from, to).createTrack();
+    boundsTrack = (ObjectKeyframeTrack<RectF>) new ObjectTween<>(
+      Benchmarks.BOUNDS, DURATION, from, to).createTrack();
+    boundsValue = boundsTrack.createValue();
+  }
+
+  @Benchmark
+  public void primitiveFrame() {
+    float value = floatTrack.getValue(nextFraction(), timingFunction, DURATION, 0f, 0f);
+    TweenProperty.ALPHA.setValue(target, value);
+  }
+
+  @Benchmark
+  public void boxedFrame() {
+    Float value = boxedTrack.getValue(timingFunction.getInterpolation(nextFraction()), 0f);
+    Benchmarks.BOXED_ALPHA.property.set(target, value);
+  }
+
+  @Benchmark
+  public void allocatingRectFrame() {
+    RectF value = allocatingBoundsTrack.getValue(
+      timingFunction.getInterpolation(nextFraction()), null);
+    Benchmarks.ALLOCATING_BOUNDS.property.set(bounds, value);
+  }
+
+  @Benchmark
+  public void inPlaceRectFrame() {
+    RectF value = boundsTrack.getValue(
+      timingFunction.getInterpolation(nextFraction()), null, boundsValue);
+    Benchmarks.BOUNDS.property.set(bounds, value);
+  }
+
+  private float nextFraction() {
+    fraction += FRAME;
+    if (fraction > 1f) {
+      fraction = 0f;
+    }
+    return fraction;
+  }
+}
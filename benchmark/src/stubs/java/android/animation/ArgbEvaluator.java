@@ -0,0 +1,42 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package android.animation;
+
+/**
+ * JVM stub of the framework ArgbEvaluator, with the same implementation as API 25.
+ */
+public class ArgbEvaluator implements TypeEvaluator {
+
+  @Override
+  public Object evaluate(float fraction, Object startValue, Object endValue) {
+    int startInt = (Integer) startValue;
+    int startA = (startInt >> 24) & 0xff;
+    int startR = (startInt >> 16) & 0xff;
+    int startG = (startInt >> 8) & 0xff;
+    int startB = startInt & 0xff;
+
+    int endInt = (Integer) endValue;
+    int endA = (endInt >> 24) & 0xff;
+    int endR = (endInt >> 16) & 0xff;
+    int endG = (endInt >> 8) & 0xff;
+    int endB = endInt & 0xff;
+
+    return (startA + (int) (fraction * (endA - startA))) << 24
+      | (startR + (int) (fraction * (endR - startR))) << 16
+      | (startG + (int) (fraction * (endG - startG))) << 8
+      | (startB + (int) (fraction * (endB - startB)));
+  }
+}
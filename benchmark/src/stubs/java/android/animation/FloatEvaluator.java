@@ -0,0 +1,28 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package android.animation;
+
+/**
+ * JVM stub of the framework FloatEvaluator, with the same implementation.
+ */
+public class FloatEvaluator implements TypeEvaluator<Number> {
+
+  @Override
+  public Float evaluate(float fraction, Number startValue, Number endValue) {
+    float startFloat = startValue.floatValue();
+    return startFloat + fraction * (endValue.floatValue() - startFloat);
+  }
+}
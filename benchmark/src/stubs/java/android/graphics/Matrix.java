@@ -0,0 +1,32 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package android.graphics;
+
+/**
+ * JVM stub of the framework Matrix, which only stores its nine values.
+ */
+public class Matrix {
+
+  private final float[] values = {1f, 0f, 0f, 0f, 1f, 0f, 0f, 0f, 1f};
+
+  public void getValues(float[] values) {
+    System.arraycopy(this.values, 0, values, 0, 9);
+  }
+
+  public void setValues(float[] values) {
+    System.arraycopy(values, 0, this.values, 0, 9);
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package android.graphics;
+
+/**
+ * JVM stub of the framework PathMeasure. Benchmarks sample paths into tables directly, so it is
+ * never measured.
+ */
+public class PathMeasure {
+
+  public PathMeasure(Path path, boolean forceClosed) {
+    throw new UnsupportedOperationException();
+  }
+
+  public void setPath(Path path, boolean forceClosed) {
+    throw new UnsupportedOperationException();
+  }
+
+  public float getLength() {
+    throw new UnsupportedOperationException();
+  }
+
+  public boolean getPosTan(float distance, float[] pos, float[] tan) {
+    throw new UnsupportedOperationException();
+  }
+
+  public boolean nextContour() {
+    throw new UnsupportedOperationException();
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package android.util;
+
+/**
+ * JVM stub of the framework Property.
+ */
+public abstract class Property<T, V> {
+
+  private final String name;
+  private final Class<V> type;
+
+  public Property(Class<V> type, String name) {
+    this.name = name;
+    this.type = type;
+  }
+
+  public abstract V get(T object);
+
+  public void set(T object, V value) {
+    throw new UnsupportedOperationException("Property " + name + " is read-only");
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public Class<V> getType() {
+    return type;
+  }
+}
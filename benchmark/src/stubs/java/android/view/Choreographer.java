@@ -0,0 +1,39 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package android.view;
+
+/**
+ * JVM stub of the framework Choreographer. Benchmarks drive frames directly, so callbacks are
+ * never run.
+ */
+public final class Choreographer {
+
+  private static final Choreographer instance = new Choreographer();
+
+  public interface FrameCallback {
+    void doFrame(long frameTimeNanos);
+  }
+
+  private Choreographer() {
+  }
+
+  public static Choreographer getInstance() {
+    return instance;
+  }
+
+  public void postFrameCallback(FrameCallback callback) {
+  }
+}
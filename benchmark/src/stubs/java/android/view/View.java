@@ -0,0 +1,172 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package android.view;
+
+import android.content.Context;
+import android.graphics.Rect;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+
+/**
+ * JVM stub of the framework View that stores the animatable properties in fields.
+ */
+public class View {
+
+  public interface OnAttachStateChangeListener {
+    void onViewAttachedToWindow(View v);
+
+    void onViewDetachedFromWindow(View v);
+  }
+
+  private float alpha = 1f;
+  private float translationX;
+  private float translationY;
+  private float translationZ;
+  private float elevation;
+  private float left;
+  private float top;
+  private float rotation;
+  private float rotationX;
+  private float rotationY;
+  private float scaleX = 1f;
+  private float scaleY = 1f;
+  private Drawable background;
+
+  public View(Context context) {
+  }
+
+  public float getAlpha() {
+    return alpha;
+  }
+
+  public void setAlpha(float alpha) {
+    this.alpha = alpha;
+  }
+
+  public float getTranslationX() {
+    return translationX;
+  }
+
+  public void setTranslationX(float translationX) {
+    this.translationX = translationX;
+  }
+
+  public float getTranslationY() {
+    return translationY;
+  }
+
+  public void setTranslationY(float translationY) {
+    this.translationY = translationY;
+  }
+
+  public float getTranslationZ() {
+    return translationZ;
+  }
+
+  public void setTranslationZ(float translationZ) {
+    this.translationZ = translationZ;
+  }
+
+  public float getX() {
+    return left + translationX;
+  }
+
+  public void setX(float x) {
+    translationX = x - left;
+  }
+
+  public float getY() {
+    return top + translationY;
+  }
+
+  public void setY(float y) {
+    translationY = y - top;
+  }
+
+  public float getZ() {
+    return elevation + translationZ;
+  }
+
+  public void setZ(float z) {
+    translationZ = z - elevation;
+  }
+
+  public float getRotation() {
+    return rotation;
+  }
+
+  public void setRotation(float rotation) {
+    this.rotation = rotation;
+  }
+
+  public float getRotationX() {
+    return rotationX;
+  }
+
+  public void setRotationX(float rotationX) {
+    this.rotationX = rotationX;
+  }
+
+  public float getRotationY() {
+    return rotationY;
+  }
+
+  public void setRotationY(float rotationY) {
+    this.rotationY = rotationY;
+  }
+
+  public float getScaleX() {
+    return scaleX;
+  }
+
+  public void setScaleX(float scaleX) {
+    this.scaleX = scaleX;
+  }
+
+  public float getScaleY() {
+    return scaleY;
+  }
+
+  public void setScaleY(float scaleY) {
+    this.scaleY = scaleY;
+  }
+
+  public Drawable getBackground() {
+    return background;
+  }
+
+  public void setBackgroundColor(int color) {
+    if (background instanceof ColorDrawable) {
+      ((ColorDrawable) background).setColor(color);
+    } else {
+      background = new ColorDrawable(color);
+    }
+  }
+
+  public void addOnAttachStateChangeListener(OnAttachStateChangeListener listener) {
+  }
+
+  public void removeOnAttachStateChangeListener(OnAttachStateChangeListener listener) {
+  }
+
+  public boolean isShown() {
+    return true;
+  }
+
+  public boolean getGlobalVisibleRect(Rect r) {
+    return true;
+  }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package android.view.animation;
+
+import android.animation.TimeInterpolator;
+
+/**
+ * JVM stub of the framework AccelerateDecelerateInterpolator, with the same implementation.
+ */
+public class AccelerateDecelerateInterpolator implements TimeInterpolator {
+
+  @Override
+  public float getInterpolation(float input) {
+    return (float) (Math.cos((input + 1) * Math.PI) / 2.0f) + 0.5f;
+  }
+}
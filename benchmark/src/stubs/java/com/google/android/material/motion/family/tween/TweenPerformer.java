@@ -0,0 +1,33 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import com.google.android.material.motion.runtime.Performer;
+import com.google.android.material.motion.runtime.Plan;
+
+/**
+ * JVM stub of the TweenPerformer, which depends on the framework animation loop. Benchmarks drive
+ * the compiled tracks and the {@link TweenEngine} directly instead.
+ */
+public class TweenPerformer<T> extends Performer<T> {
+
+  static volatile TweenPolicy policy = TweenPolicy.DEFAULT;
+
+  @Override
+  public void addPlan(Plan<T> plan) {
+    throw new UnsupportedOperationException("Benchmarks do not run the performer");
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.support.annotation.Nullable;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A tween plan baked into evenly spaced samples, one per frame interval or closer.
+ * <p>
+ * Playing back a baked track is an index lookup and a linear interpolation between two samples.
+ * No timing function, evaluator or keyframe search runs per frame. Float tweens with an implicit
+ * from value are baked too, since their values are linear in the from value. Object values are
+ * not interpolated: playback snaps to the nearest sample.
+ * <p>
+ * A baked track holds no per-target state and is immutable, so it may be baked on any thread and
+ * shared by every target the plan is added to.
+ */
+public final class BakedTrack {
+
+  /**
+   * Baked tracks, keyed by the values array of the plan they were baked from.
+   */
+  private static final Map<Object, BakedTrack> cache = new WeakHashMap<>();
+
+  private final KeyframeTrack track;
+  private final TimeInterpolator timingFunction;
+  private final long duration;
+  private final long interval;
+
+  /**
+   * The sample values for a from value of 0, for float tracks.
+   */
+  @Nullable
+  private final float[] constants;
+  /**
+   * How much each sample value changes per unit of the from value, for float tracks.
+   */
+  @Nullable
+  private final float[] fromWeights;
+  @Nullable
+  private final Object[] objectValues;
+
+  private BakedTrack(BaseTween<?> plan) {
+    this.track = KeyframeTrack.compile(plan);
+    this.timingFunction = plan.getTimingFunction();
+    this.duration = plan.duration;
+    this.interval = plan.bakeInterval;
+
+    int count = Math.max(2, (int) ((duration + interval - 1) / interval) + 1);
+    if (track instanceof FloatKeyframeTrack) {
+      FloatKeyframeTrack floatTrack = (FloatKeyframeTrack) track;
+      constants = new float[count];
+      fromWeights = new float[count];
+      objectValues = null;
+      for (int i = 0; i < count; i++) {
+        float fraction = timingFunction.getInterpolation((float) i / (count - 1));
+        constants[i] = floatTrack.getValue(fraction, 0f);
+        fromWeights[i] = floatTrack.getValue(fraction, 1f) - constants[i];
+      }
+    } else {
+      ObjectKeyframeTrack<?> objectTrack = (ObjectKeyframeTrack<?>) track;
+      constants = null;
+      fromWeights = null;
+      objectValues = new Object[count];
+      for (int i = 0; i < count; i++) {
+        float fraction = timingFunction.getInterpolation((float) i / (count - 1));
+        objectValues[i] = objectTrack.getValue(fraction, null);
+      }
+    }
+  }
+
+  /**
+   * Returns the baked track of the given plan, baking it at the plan's
+   * {@link BaseTween#bakeInterval} if it is not cached. Baking may happen on any thread, so a plan
+   * can be baked ahead of time and played back from the cache when it is added.
+   *
+   * @throws IllegalArgumentException If the plan fails validation, has no bake interval, or is an
+   * object tween with an implicit from value.
+   */
+  public static BakedTrack bake(BaseTween<?> plan) {
+    Object key = plan.getValueArray();
+    synchronized (cache) {
+      BakedTrack baked = cache.get(key);
+      if (baked != null && baked.matches(plan)) {
+        return baked;
+      }
+    }
+
+    if (plan.bakeInterval <= 0) {
+      throw new IllegalArgumentException("Plan has no bake interval: " + plan);
+    }
+    if (plan.getValueCount() == 1 && !(plan.getProperty() instanceof FloatTweenProperty)) {
+      throw new IllegalArgumentException("Cannot bake an implicit from object value: " + plan);
+    }
+    BakedTrack baked = new BakedTrack(plan);
+
+    synchronized (cache) {
+      cache.put(key, baked);
+    }
+    return baked;
+  }
+
+  /**
+   * Returns the number of samples in this track.
+   */
+  public int getSampleCount() {
+    return constants != null ? constants.length : objectValues.length;
+  }
+
+  /**
+   * Returns whether this track was baked from a plan with the same keyframes, duration, timing
+   * function and bake interval as the given plan.
+   */
+  boolean matches(BaseTween<?> plan) {
+    return duration == plan.duration
+      && interval == plan.bakeInterval
+      && timingFunction == plan.getTimingFunction()
+      && track == KeyframeTrack.compile(plan);
+  }
+
+  /**
+   * Returns whether this is a track of float values.
+   */
+  boolean isFloat() {
+    return constants != null;
+  }
+
+  /**
+   * Returns the float value at the given linear fraction, without boxing.
+   *
+   * @param from The value of the first keyframe, used only if the plan has an implicit from.
+   */
+  float getFloatValue(float linearFraction, float from) {
+    float position = clamp(linearFraction) * (constants.length - 1);
+    int i = Math.min((int) position, constants.length - 2);
+    float t = position - i;
+
+    float constant = constants[i] + t * (constants[i + 1] - constants[i]);
+    float fromWeight = fromWeights[i] + t * (fromWeights[i + 1] - fromWeights[i]);
+    return constant + fromWeight * from;
+  }
+
+  /**
+   * Returns the object value of the sample nearest to the given linear fraction.
+   */
+  Object getValue(float linearFraction) {
+    return objectValues[Math.round(clamp(linearFraction) * (objectValues.length - 1))];
+  }
+
+  private static float clamp(float fraction) {
+    return Math.max(0f, Math.min(fraction, 1f));
+  }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.support.annotation.Nullable;
+import android.view.animation.AccelerateDecelerateInterpolator;
+
+import com.google.android.material.motion.runtime.Performer;
+import com.google.android.material.motion.runtime.Plan;
+
+/**
+ * The timing configuration shared by all tween plans.
+ */
+public abstract class BaseTween<T> extends Plan<T> {
+
+  /**
+   * A {@link #repeatCount} that repeats the animation until it is cancelled. The repeat constants
+   * have the same values as those of {@link android.animation.ValueAnimator}.
+   */
+  public static final int INFINITE = -1;
+  /**
+   * A {@link #repeatMode} that starts every repetition from the first keyframe.
+   */
+  public static final int RESTART = 1;
+  /**
+   * A {@link #repeatMode} that plays every other repetition backwards, from the last keyframe.
+   */
+  public static final int REVERSE = 2;
+
+  static final TimeInterpolator DEFAULT_TIMING_FUNCTION = new AccelerateDecelerateInterpolator();
+
+  /**
+   * The duration of the animation in milliseconds.
+   */
+  public long duration;
+  /**
+   * The start delay of the animation in milliseconds.
+   */
+  public long delay;
+
+  /**
+   * The number of times the animation repeats after it first plays, or {@link #INFINITE}. Every
+   * repetition lasts {@link #duration} and evaluates the same keyframes, and the delay only applies
+   * once. An implicit from value is read once, when the animation first starts.
+   */
+  public int repeatCount;
+  /**
+   * How the animation repeats, either {@link #RESTART} or {@link #REVERSE}.
+   */
+  public int repeatMode = RESTART;
+
+  /**
+   * An optional array that defines the pacing of the animation. Each offset corresponds to its
+   * identically-indexed value in the values array. Each offset is a floating point number in the
+   * range of [0,1] that defines the fraction of the {@link #duration} at which the corresponding
+   * value should apply. If null, each value is assumed to be evenly spaced.
+   */
+  @Nullable
+  public float[] offsets;
+
+  /**
+   * An optional array that defines the timing functions to be used between any two values. If
+   * the values array is of length n, then this should be of length n-1. If null, each timing
+   * function is assumed to be linear.
+   * <p>
+   * These timing functions composes with the {@link #timingFunction overall timing function}.
+   */
+  @Nullable
+  public TimeInterpolator[] interTimingFunctions;
+
+  /**
+   * The overall timing function to apply to the animation. If null, the overall timing function
+   * is assumed to be {@link AccelerateDecelerateInterpolator}.
+   * <p>
+   * This timing function composes with the keyframe {@link #interTimingFunctions}.
+   */
+  @Nullable
+  public TimeInterpolator timingFunction;
+
+  /**
+   * If positive, the animation is played back from samples taken every bakeInterval milliseconds
+   * instead of evaluating its keyframes on every frame. Bake the plan ahead of time with
+   * {@link BakedTrack#bake(BaseTween)}, or it is baked when it is added.
+   * <p>
+   * Only worth it for plans that are added many times, since baking evaluates every sample.
+   */
+  public long bakeInterval;
+
+  /**
+   * Whether to skip frames while the target is a {@link android.view.View} that is detached, not
+   * shown or scrolled out of view. A skipped frame does not call the property's setter. The
+   * current value is applied again once the view is visible, and the final value is always
+   * applied when the animation ends.
+   */
+  public boolean cullWhenInvisible;
+
+  /**
+   * Whether the animation is essential to the user interface, as opposed to decorative. A
+   * {@link TweenPolicy} may jump tweens that are not essential to their end values.
+   */
+  public boolean essential = true;
+
+  /**
+   * Whether the animation adds to the other additive animations of the same property on the same
+   * target, rather than cancelling them. Each additive animation contributes the change of its
+   * value since its start. The contributions are summed and applied with one setter call per
+   * frame, so an additive animation that interrupts another one takes over without a jump.
+   * <p>
+   * The implicit from value of an additive animation is the value that the property settles at
+   * once the running additive animations end. Only {@link FloatTweenProperty float properties} can
+   * be animated additively, and additive animations always run on the shared engine.
+   */
+  public boolean additive;
+
+  /**
+   * The policy that applies to this plan instead of the process-wide
+   * {@link TweenPerformer#setPolicy(TweenPolicy) policy}, or null to follow it.
+   */
+  @Nullable
+  public TweenPolicy policy;
+
+  BaseTween(long duration) {
+    this.duration = duration;
+  }
+
+  /**
+   * Returns the linear fraction that the animation ends at, after all of its repetitions.
+   */
+  float getEndFraction() {
+    return getEndFraction(repeatCount, repeatMode);
+  }
+
+  static float getEndFraction(int repeatCount, int repeatMode) {
+    return repeatMode == REVERSE && repeatCount > 0 && repeatCount % 2 == 1 ? 0f : 1f;
+  }
+
+  /**
+   * Returns whether an animation has played all of its repetitions after the given time in
+   * milliseconds since its delay ended.
+   */
+  static boolean isEnded(long elapsed, long duration, int repeatCount) {
+    return elapsed >= 0
+      && (duration <= 0
+      || (repeatCount != INFINITE && elapsed >= duration * (repeatCount + 1L)));
+  }
+
+  /**
+   * Returns the linear fraction of the current repetition of an animation after the given time in
+   * milliseconds since its delay ended. Every other repetition of a reversing animation runs from
+   * 1 to 0.
+   */
+  static float getLinearFraction(long elapsed, long duration, int repeatCount, int repeatMode) {
+    if (isEnded(elapsed, duration, repeatCount)) {
+      return getEndFraction(repeatCount, repeatMode);
+    }
+    if (elapsed <= 0) {
+      return 0f;
+    }
+    long repetition = elapsed / duration;
+    float fraction = (float) (elapsed - repetition * duration) / duration;
+    return repeatMode == REVERSE && repetition % 2 == 1 ? 1f - fraction : fraction;
+  }
+
+  /**
+   * Returns the number of keyframe values in this plan.
+   */
+  abstract int getValueCount();
+
+  /**
+   * Returns the array of keyframe values in this plan.
+   */
+  abstract Object getValueArray();
+
+  /**
+   * Returns the property whose value will be tweened.
+   */
+  abstract TweenProperty<?, ?> getProperty();
+
+  /**
+   * Creates the compiled keyframe track of this plan. Use {@link KeyframeTrack#compile(BaseTween)}
+   * to get a cached track.
+   */
+  abstract KeyframeTrack createTrack();
+
+  /**
+   * Returns the {@link #timingFunction}, or the default timing function if it is null. Framework
+   * timing functions are replaced by a shared {@link LookupTableInterpolator}.
+   */
+  TimeInterpolator getTimingFunction() {
+    return LookupTableInterpolator.sample(
+      timingFunction != null ? timingFunction : DEFAULT_TIMING_FUNCTION);
+  }
+
+  @Override
+  protected Class<? extends Performer<T>> getPerformerClass() {
+    return (Class<? extends Performer<T>>) new TweenPerformer<T>().getClass();
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import com.google.android.material.motion.runtime.Performer;
+import com.google.android.material.motion.runtime.Plan;
+
+/**
+ * Animates every target of a {@link TweenBroadcast} with one tween plan.
+ * <p>
+ * The tween's keyframes are evaluated once per frame and the value is written to every target,
+ * so the cost of a frame grows with the number of setter calls only. Float tweens with an
+ * implicit from value read the from value of each target, and still evaluate their keyframes only
+ * once per frame.
+ * <p>
+ * A broadcast tween always runs on a single animator, whether or not the
+ * {@link TweenPerformer#setSharedEngineEnabled(boolean) shared engine} is enabled.
+ */
+public final class BroadcastTween<T> extends Plan<TweenBroadcast<T>> {
+
+  BaseTween<T> tween;
+
+  public BroadcastTween(BaseTween<T> tween) {
+    this.tween = tween;
+  }
+
+  @Override
+  public BroadcastTween<T> clone() {
+    BroadcastTween<T> clone = (BroadcastTween<T>) super.clone();
+    clone.tween = (BaseTween<T>) tween.clone();
+    return clone;
+  }
+
+  @Override
+  protected Class<? extends Performer<TweenBroadcast<T>>> getPerformerClass() {
+    return (Class<? extends Performer<TweenBroadcast<T>>>)
+      new TweenPerformer<TweenBroadcast<T>>().getClass();
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+
+/**
+ * A timing function defined by a cubic Bezier curve from (0, 0) to (1, 1) with two control points,
+ * like the curves of CSS and of design tools. Available on every API level.
+ * <p>
+ * Evaluating the curve solves for its parameter on every call. Wrap it with
+ * {@link LookupTableInterpolator#of(TimeInterpolator)} before using it in a tween.
+ */
+public final class CubicBezierInterpolator implements TimeInterpolator {
+
+  private static final int NEWTON_ITERATIONS = 8;
+  private static final float EPSILON = 1e-6f;
+
+  final float x1;
+  final float y1;
+  final float x2;
+  final float y2;
+
+  /**
+   * Creates a timing function with the control points (x1, y1) and (x2, y2).
+   *
+   * @throws IllegalArgumentException If x1 or x2 is outside of the range [0, 1], since the curve
+   * would not be a function of time.
+   */
+  public CubicBezierInterpolator(float x1, float y1, float x2, float y2) {
+    if (!(x1 >= 0f && x1 <= 1f && x2 >= 0f && x2 <= 1f)) {
+      throw new IllegalArgumentException("Control point x must be in [0, 1]: " + x1 + ", " + x2);
+    }
+    this.x1 = x1;
+    this.y1 = y1;
+    this.x2 = x2;
+    this.y2 = y2;
+  }
+
+  @Override
+  public float getInterpolation(float input) {
+    if (input <= 0f || input >= 1f) {
+      return input <= 0f ? 0f : 1f;
+    }
+    return bezier(solve(input), y1, y2);
+  }
+
+  /**
+   * Returns the curve parameter whose x coordinate is the given input.
+   */
+  private float solve(float x) {
+    float t = x;
+    for (int i = 0; i < NEWTON_ITERATIONS; i++) {
+      float error = bezier(t, x1, x2) - x;
+      if (Math.abs(error) < EPSILON) {
+        return t;
+      }
+      float slope = slope(t, x1, x2);
+      if (Math.abs(slope) < EPSILON) {
+        break;
+      }
+      t -= error / slope;
+    }
+
+    // Newton's method did not converge, so bisect. x is monotonic in t.
+    float low = 0f;
+    float high = 1f;
+    t = x;
+    while (high - low > EPSILON) {
+      if (bezier(t, x1, x2) < x) {
+        low = t;
+      } else {
+        high = t;
+      }
+      t = (low + high) / 2f;
+    }
+    return t;
+  }
+
+  private static float bezier(float t, float p1, float p2) {
+    float u = 1f - t;
+    return 3f * u * u * t * p1 + 3f * u * t * t * p2 + t * t * t;
+  }
+
+  private static float slope(float t, float p1, float p2) {
+    float u = 1f - t;
+    return 3f * u * u * p1 + 6f * u * t * (p2 - p1) + 3f * t * t * (1f - p2);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof CubicBezierInterpolator)) {
+      return false;
+    }
+    CubicBezierInterpolator that = (CubicBezierInterpolator) o;
+    return Float.compare(x1, that.x1) == 0
+      && Float.compare(y1, that.y1) == 0
+      && Float.compare(x2, that.x2) == 0
+      && Float.compare(y2, that.y2) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = Float.floatToIntBits(x1);
+    result = 31 * result + Float.floatToIntBits(y1);
+    result = 31 * result + Float.floatToIntBits(x2);
+    result = 31 * result + Float.floatToIntBits(y2);
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "CubicBezierInterpolator(" + x1 + ", " + y1 + ", " + x2 + ", " + y2 + ")";
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.support.annotation.Nullable;
+
+/**
+ * A {@link KeyframeTrack} of primitive float values. Evaluating the track does not allocate.
+ */
+final class FloatKeyframeTrack extends KeyframeTrack {
+
+  /**
+   * The fraction of a tween over which the initial slope of its curve is measured.
+   */
+  private static final float START_SLOPE_FRACTION = .001f;
+
+  /**
+   * The value of each keyframe. If {@link #implicitFrom}, the first value is a placeholder.
+   */
+  final float[] values;
+
+  private FloatKeyframeTrack(
+    FloatTweenProperty<?> property,
+    float[] values,
+    @Nullable float[] offsets,
+    @Nullable TimeInterpolator[] interTimingFunctions) {
+    super(property, values.length, offsets, interTimingFunctions);
+    this.values = values.length == 1 ? new float[]{0f, values[0]} : values.clone();
+  }
+
+  /**
+   * Creates a track from the given keyframes.
+   */
+  static FloatKeyframeTrack create(
+    FloatTweenProperty<?> property,
+    float[] values,
+    @Nullable float[] offsets,
+    @Nullable TimeInterpolator[] interTimingFunctions) {
+    return new FloatKeyframeTrack(property, values, offsets, interTimingFunctions);
+  }
+
+  /**
+   * Creates a track from the keyframes of the given plan.
+   */
+  static FloatKeyframeTrack create(ObjectFloatTween<?> plan) {
+    return create(plan.property, plan.values, plan.offsets, plan.interTimingFunctions);
+  }
+
+  @Override
+  boolean matches(BaseTween<?> plan) {
+    int count = plan.getValueCount();
+    if (!super.matches(plan) || count != (implicitFrom ? 1 : values.length)) {
+      return false;
+    }
+
+    int first = implicitFrom ? 1 : 0;
+    for (int i = 0; i < count; i++) {
+      if (Float.compare(values[first + i], getPlanValue(plan, i)) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static float getPlanValue(BaseTween<?> plan, int i) {
+    if (plan instanceof ObjectFloatTween) {
+      return ((ObjectFloatTween<?>) plan).values[i];
+    }
+    return (Float) ((ObjectTween<?, ?>) plan).values[i];
+  }
+
+  /**
+   * Returns the value of the track at the given overall fraction.
+   *
+   * @param from The value of the first keyframe, used only if {@link #implicitFrom}.
+   */
+  float getValue(float fraction, float from) {
+    int segment = findSegment(fraction);
+    float segmentFraction = getSegmentFraction(segment, fraction);
+
+    float start = segment == 0 && implicitFrom ? from : values[segment];
+    float end = values[segment + 1];
+    return start + segmentFraction * (end - start);
+  }
+
+  /**
+   * Returns the value of a running tween of this track.
+   *
+   * @param linearFraction The elapsed fraction of the tween's duration, before timing is applied.
+   * @param from The value of the first keyframe, used only if {@link #implicitFrom}.
+   * @param velocity The velocity in units per millisecond that is added to the tween's own, such
+   * as the difference that {@link #getHandOffVelocity} returns. Its contribution decays to zero by
+   * the end of the tween.
+   */
+  float getValue(
+    float linearFraction,
+    TimeInterpolator timingFunction,
+    long duration,
+    float from,
+    float velocity) {
+    float value = getValue(timingFunction.getInterpolation(linearFraction), from);
+    return value + getVelocityOffset(linearFraction, duration, velocity);
+  }
+
+  /**
+   * Returns the velocity to add to a tween of this track so that it starts at the velocity of the
+   * tween it interrupts, whatever the initial slope of its timing function and keyframes.
+   *
+   * @param velocity The velocity in units per millisecond of the interrupted tween, or 0 if none.
+   * @param from The value of the first keyframe, used only if {@link #implicitFrom}.
+   */
+  float getHandOffVelocity(
+    float velocity,
+    TimeInterpolator timingFunction,
+    long duration,
+    float from) {
+    if (velocity == 0f || duration <= 0) {
+      return velocity;
+    }
+    float start = getValue(timingFunction.getInterpolation(0f), from);
+    float next = getValue(timingFunction.getInterpolation(START_SLOPE_FRACTION), from);
+    return velocity - (next - start) / (START_SLOPE_FRACTION * duration);
+  }
+
+  /**
+   * Returns the offset that an added velocity contributes to the value of a running tween. The
+   * offset starts at the given velocity and decays to zero by the end of the tween.
+   */
+  static float getVelocityOffset(float linearFraction, long duration, float velocity) {
+    if (velocity == 0f) {
+      return 0f;
+    }
+    float remaining = 1f - linearFraction;
+    return velocity * duration * linearFraction * remaining * remaining;
+  }
+}
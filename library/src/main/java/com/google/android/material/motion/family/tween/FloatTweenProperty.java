@@ -0,0 +1,69 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.util.Property;
+
+/**
+ * A {@link TweenProperty} for primitive float values.
+ * <p>
+ * When animated with {@link ObjectFloatTween}, values are read and written through
+ * {@link #getValue(Object)} and {@link #setValue(Object, float)} so that no value is boxed while
+ * the tween is running.
+ */
+public abstract class FloatTweenProperty<T> extends TweenProperty<T, Float> {
+
+  public FloatTweenProperty(String name) {
+    this(new FloatPropertyAdapter<T>(name));
+  }
+
+  private FloatTweenProperty(FloatPropertyAdapter<T> adapter) {
+    super(adapter, NO_OP);
+    adapter.tweenProperty = this;
+  }
+
+  /**
+   * Sets the value of this property on the given object.
+   */
+  public abstract void setValue(T object, float value);
+
+  /**
+   * Returns the value of this property on the given object.
+   */
+  public abstract float getValue(T object);
+
+  /**
+   * Exposes a FloatTweenProperty as a {@link Property} for the boxed {@link ObjectTween} path.
+   */
+  private static class FloatPropertyAdapter<T> extends Property<T, Float> {
+
+    private FloatTweenProperty<T> tweenProperty;
+
+    private FloatPropertyAdapter(String name) {
+      super(Float.class, name);
+    }
+
+    @Override
+    public Float get(T object) {
+      return tweenProperty.getValue(object);
+    }
+
+    @Override
+    public void set(T object, Float value) {
+      tweenProperty.setValue(object, value);
+    }
+  }
+}
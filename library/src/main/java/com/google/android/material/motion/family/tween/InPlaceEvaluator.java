@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TypeEvaluator;
+
+/**
+ * Interpolates mutable values into a reusable output value instead of allocating a new value on
+ * every frame like a {@link TypeEvaluator}.
+ * <p>
+ * Every running tween of a {@link TweenProperty} with an in-place evaluator owns one output value,
+ * which is passed to the property's setter on every frame. The setter must copy the value if it
+ * keeps it.
+ */
+public interface InPlaceEvaluator<V> {
+
+  /**
+   * Returns a new value that can hold the result of interpolating values like the given one, such
+   * as an array of the same length.
+   */
+  V createValue(V template);
+
+  /**
+   * Writes the value at the given fraction between the start and end values into the output value.
+   * The output value is never the start or end value.
+   */
+  void evaluate(float fraction, V startValue, V endValue, V out);
+}
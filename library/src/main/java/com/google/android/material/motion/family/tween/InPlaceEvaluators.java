@@ -0,0 +1,126 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TypeEvaluator;
+import android.graphics.Matrix;
+import android.graphics.PointF;
+import android.graphics.RectF;
+
+/**
+ * {@link InPlaceEvaluator InPlaceEvaluators} of common graphics types.
+ */
+public final class InPlaceEvaluators {
+
+  /**
+   * Interpolates each coordinate of a point.
+   */
+  public static final InPlaceEvaluator<PointF> POINT_F = new InPlaceEvaluator<PointF>() {
+    @Override
+    public PointF createValue(PointF template) {
+      return new PointF();
+    }
+
+    @Override
+    public void evaluate(float fraction, PointF startValue, PointF endValue, PointF out) {
+      out.x = lerp(fraction, startValue.x, endValue.x);
+      out.y = lerp(fraction, startValue.y, endValue.y);
+    }
+  };
+
+  /**
+   * Interpolates each edge of a rectangle.
+   */
+  public static final InPlaceEvaluator<RectF> RECT_F = new InPlaceEvaluator<RectF>() {
+    @Override
+    public RectF createValue(RectF template) {
+      return new RectF();
+    }
+
+    @Override
+    public void evaluate(float fraction, RectF startValue, RectF endValue, RectF out) {
+      out.left = lerp(fraction, startValue.left, endValue.left);
+      out.top = lerp(fraction, startValue.top, endValue.top);
+      out.right = lerp(fraction, startValue.right, endValue.right);
+      out.bottom = lerp(fraction, startValue.bottom, endValue.bottom);
+    }
+  };
+
+  /**
+   * Interpolates each element of two arrays of the same length.
+   */
+  public static final InPlaceEvaluator<float[]> FLOAT_ARRAY = new InPlaceEvaluator<float[]>() {
+    @Override
+    public float[] createValue(float[] template) {
+      return new float[template.length];
+    }
+
+    @Override
+    public void evaluate(float fraction, float[] startValue, float[] endValue, float[] out) {
+      for (int i = 0; i < out.length; i++) {
+        out[i] = lerp(fraction, startValue[i], endValue[i]);
+      }
+    }
+  };
+
+  /**
+   * Interpolates each of the nine values of a matrix.
+   */
+  public static final InPlaceEvaluator<Matrix> MATRIX = new InPlaceEvaluator<Matrix>() {
+    // Matrices only expose their values through arrays, so evaluations share these.
+    private final float[] start = new float[9];
+    private final float[] end = new float[9];
+
+    @Override
+    public Matrix createValue(Matrix template) {
+      return new Matrix();
+    }
+
+    @Override
+    public void evaluate(float fraction, Matrix startValue, Matrix endValue, Matrix out) {
+      synchronized (start) {
+        startValue.getValues(start);
+        endValue.getValues(end);
+        for (int i = 0; i < 9; i++) {
+          start[i] = lerp(fraction, start[i], end[i]);
+        }
+        out.setValues(start);
+      }
+    }
+  };
+
+  private InPlaceEvaluators() {
+  }
+
+  /**
+   * Returns a {@link TypeEvaluator} that allocates a new value for every evaluation, for callers
+   * that keep the values they evaluate.
+   */
+  static <V> TypeEvaluator<V> allocating(final InPlaceEvaluator<V> evaluator) {
+    return new TypeEvaluator<V>() {
+      @Override
+      public V evaluate(float fraction, V startValue, V endValue) {
+        V out = evaluator.createValue(endValue);
+        evaluator.evaluate(fraction, startValue, endValue, out);
+        return out;
+      }
+    };
+  }
+
+  private static float lerp(float fraction, float start, float end) {
+    return start + fraction * (end - start);
+  }
+}
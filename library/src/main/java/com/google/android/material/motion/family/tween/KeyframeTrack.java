@@ -0,0 +1,247 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.support.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The compiled, immutable keyframes of a tween plan: the fraction at which each keyframe applies
+ * and the timing function of each segment between two keyframes.
+ * <p>
+ * Subclasses hold the keyframe values and interpolate between them. A track holds no per-target
+ * state, so one track is shared by every target that the plan is added to.
+ * <p>
+ * Finding the segment of a fraction is a binary search, short-circuited by a cursor at the segment
+ * that was found last. Forward playback stays in the same segment or moves to the next one, so
+ * its lookup is constant time however many keyframes the track has.
+ */
+abstract class KeyframeTrack {
+
+  /**
+   * Compiled tracks, keyed by the values array of the plan they were compiled from. Plan clones
+   * share their values array, so they share a cached track.
+   */
+  private static final Map<Object, KeyframeTrack> cache = new WeakHashMap<>();
+
+  final TweenProperty<?, ?> property;
+  /**
+   * The fraction at which each keyframe applies, in ascending order.
+   */
+  final float[] fractions;
+  /**
+   * The timing function of each segment, or null if every segment is linear. Individual entries
+   * may also be null.
+   */
+  @Nullable
+  final TimeInterpolator[] interpolators;
+  /**
+   * Whether the first keyframe value is not known in advance and must be read from the target.
+   */
+  final boolean implicitFrom;
+
+  @Nullable
+  private final float[] offsets;
+  @Nullable
+  private final TimeInterpolator[] interTimingFunctions;
+
+  /**
+   * The segment that was found last. Tracks are shared across targets and threads, so this is only
+   * a hint that is checked before it is used.
+   */
+  private int cursor;
+
+  KeyframeTrack(
+    TweenProperty<?, ?> property,
+    int valueCount,
+    @Nullable float[] offsets,
+    @Nullable TimeInterpolator[] interTimingFunctions) {
+    this.property = property;
+    this.offsets = offsets != null ? offsets.clone() : null;
+    this.interTimingFunctions = interTimingFunctions != null ? interTimingFunctions.clone() : null;
+
+    this.fractions = createFractions(valueCount, this.offsets);
+    this.interpolators = valueCount == 1 ? null : createInterpolators(this.interTimingFunctions);
+    this.implicitFrom = valueCount == 1;
+  }
+
+  /**
+   * Returns the compiled track of the given plan.
+   * <p>
+   * Tracks are cached by the identity of the plan's values array, so adding the same plan, or a
+   * clone of it, again is a lookup. A cached track is recompiled if the plan's property or
+   * keyframes have changed since it was compiled.
+   *
+   * @throws IllegalArgumentException If the plan fails validation.
+   */
+  static KeyframeTrack compile(BaseTween<?> plan) {
+    Object key = plan.getValueArray();
+    synchronized (cache) {
+      KeyframeTrack track = cache.get(key);
+      if (track != null && track.matches(plan)) {
+        return track;
+      }
+    }
+
+    if (!validate(plan)) {
+      throw new IllegalArgumentException("Plan failed validation: " + plan);
+    }
+    KeyframeTrack track = plan.createTrack();
+
+    synchronized (cache) {
+      cache.put(key, track);
+    }
+    return track;
+  }
+
+  /**
+   * Caches the compiled track of the given plan, if any, for a copy of it with copied arrays, so
+   * that compiling the copy is a lookup for as long as its keyframes match.
+   */
+  static void share(BaseTween<?> plan, BaseTween<?> copy) {
+    synchronized (cache) {
+      KeyframeTrack track = cache.get(plan.getValueArray());
+      if (track != null) {
+        cache.put(copy.getValueArray(), track);
+      }
+    }
+  }
+
+  private static boolean validate(BaseTween<?> plan) {
+    int count = plan.getValueCount();
+    if (count == 0) {
+      return false;
+    }
+
+    if (plan.offsets != null && (plan.offsets.length != count || !isAscending(plan.offsets))) {
+      return false;
+    }
+
+    if (plan.interTimingFunctions != null
+      && plan.interTimingFunctions.length != count - 1) {
+      return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Returns whether the given offsets never decrease. Equal offsets are allowed, and jump from one
+   * value to the next.
+   */
+  private static boolean isAscending(float[] offsets) {
+    for (int i = 1; i < offsets.length; i++) {
+      if (!(offsets[i] >= offsets[i - 1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static float[] createFractions(int valueCount, @Nullable float[] offsets) {
+    if (valueCount == 1) {
+      return new float[]{0f, 1f};
+    }
+    if (offsets != null) {
+      return offsets;
+    }
+
+    // Space keyframes evenly.
+    float[] fractions = new float[valueCount];
+    for (int i = 0; i < valueCount; i++) {
+      fractions[i] = (float) i / (valueCount - 1);
+    }
+    return fractions;
+  }
+
+  @Nullable
+  private static TimeInterpolator[] createInterpolators(
+    @Nullable TimeInterpolator[] interTimingFunctions) {
+    if (interTimingFunctions == null) {
+      return null;
+    }
+
+    TimeInterpolator[] interpolators = new TimeInterpolator[interTimingFunctions.length];
+    for (int i = 0; i < interpolators.length; i++) {
+      TimeInterpolator interpolator = interTimingFunctions[i];
+      interpolators[i] = interpolator != null ? LookupTableInterpolator.sample(interpolator) : null;
+    }
+    return interpolators;
+  }
+
+  /**
+   * Returns whether this track was compiled from a plan with the same property and keyframes as
+   * the given plan.
+   */
+  boolean matches(BaseTween<?> plan) {
+    return property == plan.getProperty()
+      && Arrays.equals(offsets, plan.offsets)
+      && Arrays.equals(interTimingFunctions, plan.interTimingFunctions);
+  }
+
+  /**
+   * Returns the index of the segment that the given overall fraction falls in. Fractions outside
+   * of the keyframes map to the first or last segment so that overshooting timing functions
+   * extrapolate.
+   */
+  final int findSegment(float fraction) {
+    int last = fractions.length - 2;
+    int segment = cursor;
+    if (isInSegment(segment, fraction, last)) {
+      return segment;
+    }
+    if (segment < last && isInSegment(segment + 1, fraction, last)) {
+      cursor = segment + 1;
+      return segment + 1;
+    }
+
+    // Find the first segment that ends after the fraction.
+    int low = 0;
+    int high = last;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (fraction < fractions[middle + 1]) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    cursor = low;
+    return low;
+  }
+
+  private boolean isInSegment(int segment, float fraction, int last) {
+    return (segment == 0 || fraction >= fractions[segment])
+      && (segment == last || fraction < fractions[segment + 1]);
+  }
+
+  /**
+   * Returns the fraction within the given segment, with the segment's timing function applied.
+   */
+  final float getSegmentFraction(int segment, float fraction) {
+    float start = fractions[segment];
+    float end = fractions[segment + 1];
+    float segmentFraction = end == start ? 1f : (fraction - start) / (end - start);
+
+    TimeInterpolator interpolator = interpolators != null ? interpolators[segment] : null;
+    return interpolator != null
+      ? interpolator.getInterpolation(segmentFraction) : segmentFraction;
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.support.annotation.Nullable;
+import android.view.animation.LinearInterpolator;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A {@link TimeInterpolator} that samples another interpolator into a lookup table. Evaluating it
+ * is a table read and a linear interpolation, regardless of the cost of the sampled interpolator.
+ * <p>
+ * Inputs in the range [0,1] are read from the table. Inputs outside of that range are passed to
+ * the sampled interpolator.
+ * <p>
+ * By default, tweens automatically sample the framework interpolators in
+ * {@code android.view.animation}, which are pure functions of their input. Other interpolators
+ * are only sampled if they are wrapped explicitly.
+ * <p>
+ * Shared tables returned by {@link #of(TimeInterpolator)} only reference the sampled interpolator
+ * weakly, so that a table and its cache entry are released once neither is used. Once the
+ * sampled interpolator has been collected, inputs outside of [0,1] are extrapolated from the
+ * table.
+ */
+public class LookupTableInterpolator implements TimeInterpolator {
+
+  /**
+   * The maximum error of tables created by {@link #of(TimeInterpolator)}.
+   */
+  public static final float DEFAULT_MAX_ERROR = .0005f;
+
+  private static final int MIN_RESOLUTION = 16;
+  private static final int MAX_RESOLUTION = 4096;
+  private static final String FRAMEWORK_PACKAGE = "android.view.animation.";
+
+  private static final Map<TimeInterpolator, LookupTableInterpolator> cache = new WeakHashMap<>();
+  private static boolean automaticSamplingEnabled = true;
+
+  /**
+   * The sampled interpolator, or null if the table is shared and only references it weakly.
+   */
+  @Nullable
+  private final TimeInterpolator source;
+  private final WeakReference<TimeInterpolator> weakSource;
+  private final int resolution;
+  private final float[] samples;
+
+  /**
+   * Samples the given interpolator at {@code resolution + 1} evenly spaced inputs.
+   */
+  public LookupTableInterpolator(TimeInterpolator source, int resolution) {
+    this(source, resolution, false);
+  }
+
+  private LookupTableInterpolator(TimeInterpolator source, int resolution, boolean shared) {
+    if (resolution < 1) {
+      throw new IllegalArgumentException("Resolution must be positive: " + resolution);
+    }
+    this.source = shared ? null : source;
+    this.weakSource = new WeakReference<>(source);
+    this.resolution = resolution;
+    this.samples = new float[resolution + 1];
+    for (int i = 0; i <= resolution; i++) {
+      samples[i] = source.getInterpolation((float) i / resolution);
+    }
+  }
+
+  /**
+   * Samples the given interpolator at the lowest resolution whose error does not exceed the
+   * given bound, up to a resolution of 4096.
+   */
+  public static LookupTableInterpolator create(TimeInterpolator source, float maxError) {
+    return create(source, maxError, false);
+  }
+
+  private static LookupTableInterpolator create(
+    TimeInterpolator source, float maxError, boolean shared) {
+    LookupTableInterpolator table;
+    int resolution = MIN_RESOLUTION;
+    do {
+      table = new LookupTableInterpolator(source, resolution, shared);
+      resolution *= 2;
+    } while (resolution <= MAX_RESOLUTION && table.measureError() > maxError);
+    return table;
+  }
+
+  /**
+   * Returns a shared lookup table of the given interpolator with {@link #DEFAULT_MAX_ERROR}.
+   * Plans that use the same interpolator instance share the same table. The table only references
+   * the interpolator weakly, so keep the interpolator if you need inputs outside of [0,1].
+   */
+  public static LookupTableInterpolator of(TimeInterpolator source) {
+    if (source instanceof LookupTableInterpolator) {
+      return (LookupTableInterpolator) source;
+    }
+
+    synchronized (cache) {
+      LookupTableInterpolator table = cache.get(source);
+      if (table == null) {
+        table = create(source, DEFAULT_MAX_ERROR, true);
+        cache.put(source, table);
+      }
+      return table;
+    }
+  }
+
+  /**
+   * Sets whether tweens automatically sample framework interpolators. Enabled by default. Takes
+   * effect for plans that are compiled from now on.
+   */
+  public static void setAutomaticSamplingEnabled(boolean enabled) {
+    automaticSamplingEnabled = enabled;
+  }
+
+  /**
+   * Returns the shared lookup table of the given interpolator if it should be sampled
+   * automatically, or the interpolator itself.
+   */
+  static TimeInterpolator sample(TimeInterpolator interpolator) {
+    if (!automaticSamplingEnabled || !isSampledAutomatically(interpolator)) {
+      return interpolator;
+    }
+    return of(interpolator);
+  }
+
+  private static boolean isSampledAutomatically(TimeInterpolator interpolator) {
+    Class<?> type = interpolator.getClass();
+    return type != LinearInterpolator.class && type.getName().startsWith(FRAMEWORK_PACKAGE);
+  }
+
+  /**
+   * Returns the number of shared tables that are cached. For tests.
+   */
+  static int getCacheSize() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  /**
+   * Returns the interpolator that this table samples, or null if it has been collected.
+   */
+  @Nullable
+  TimeInterpolator getSource() {
+    return source != null ? source : weakSource.get();
+  }
+
+  /**
+   * Returns the number of intervals in the table.
+   */
+  public int getResolution() {
+    return resolution;
+  }
+
+  /**
+   * Returns the largest difference from the sampled interpolator, measured halfway between each
+   * pair of samples, or {@link Float#NaN} if the sampled interpolator has been collected.
+   */
+  public float measureError() {
+    TimeInterpolator source = getSource();
+    if (source == null) {
+      return Float.NaN;
+    }
+    float maxError = 0f;
+    for (int i = 0; i < resolution; i++) {
+      float expected = source.getInterpolation((i + .5f) / resolution);
+      float actual = (samples[i] + samples[i + 1]) / 2f;
+      maxError = Math.max(maxError, Math.abs(expected - actual));
+    }
+    return maxError;
+  }
+
+  @Override
+  public float getInterpolation(float input) {
+    if (input < 0f || input > 1f) {
+      TimeInterpolator source = getSource();
+      if (source != null) {
+        return source.getInterpolation(input);
+      }
+      // Extrapolate from the first or last interval.
+      int index = input < 0f ? 0 : resolution - 1;
+      float start = samples[index];
+      return start + (input * resolution - index) * (samples[index + 1] - start);
+    }
+
+    float position = input * resolution;
+    int index = (int) position;
+    if (index >= resolution) {
+      return samples[resolution];
+    }
+    float start = samples[index];
+    return start + (position - index) * (samples[index + 1] - start);
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+/**
+ * A {@link TweenClock} whose time only changes when it is set. Useful for scrubbing a
+ * {@link TweenTimeline} with a gesture and for deterministic tests.
+ */
+public final class ManualTweenClock extends TweenClock {
+
+  private long time;
+
+  @Override
+  public long getTimeMillis() {
+    return time;
+  }
+
+  /**
+   * Sets the current time in milliseconds.
+   */
+  public void setTimeMillis(long time) {
+    this.time = time;
+  }
+
+  /**
+   * Advances the current time by the given number of milliseconds.
+   */
+  public void advance(long millis) {
+    time += millis;
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Interpolate an object's {@link FloatTweenProperty} from one value to another without boxing.
+ */
+public class ObjectFloatTween<T> extends BaseTween<T> {
+
+  /**
+   * The property whose value will be tweened.
+   */
+  public FloatTweenProperty<? super T> property;
+
+  /**
+   * An array providing the value of the animation for each keyframe.
+   */
+  public float[] values;
+
+  /**
+   * Initializes an ObjectFloatTween plan for the given property with the values as the keyframes.
+   * <p>
+   * If {@code values.length == 1}, the sole value will be treated as the final value. The initial
+   * value will be calculated from the target.
+   */
+  public ObjectFloatTween(
+    FloatTweenProperty<? super T> property, long duration, @NonNull float... values) {
+    super(duration);
+    this.property = property;
+    this.values = values;
+  }
+
+  @Override
+  int getValueCount() {
+    return values.length;
+  }
+
+  @Override
+  Object getValueArray() {
+    return values;
+  }
+
+  @Override
+  TweenProperty<?, ?> getProperty() {
+    return property;
+  }
+
+  @Override
+  KeyframeTrack createTrack() {
+    return FloatKeyframeTrack.create(this);
+  }
+}
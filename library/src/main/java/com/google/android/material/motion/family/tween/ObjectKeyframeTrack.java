@@ -0,0 +1,139 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TypeEvaluator;
+import android.support.annotation.Nullable;
+
+/**
+ * A {@link KeyframeTrack} of object values, interpolated with a {@link TypeEvaluator}, or in place
+ * with an {@link InPlaceEvaluator} if the property has one.
+ */
+final class ObjectKeyframeTrack<V> extends KeyframeTrack {
+
+  /**
+   * The value of each keyframe. If {@link #implicitFrom}, the first value is a placeholder.
+   */
+  final Object[] values;
+  final TypeEvaluator<? super V> evaluator;
+  @Nullable final InPlaceEvaluator<V> inPlaceEvaluator;
+
+  private ObjectKeyframeTrack(
+    ObjectTween<?, V> plan,
+    TypeEvaluator<? super V> evaluator,
+    @Nullable InPlaceEvaluator<V> inPlaceEvaluator) {
+    super(plan.property, plan.values.length, plan.offsets, plan.interTimingFunctions);
+    this.values =
+      plan.values.length == 1 ? new Object[]{null, plan.values[0]} : plan.values.clone();
+    this.evaluator = evaluator;
+    this.inPlaceEvaluator = inPlaceEvaluator;
+  }
+
+  /**
+   * Creates a track from the keyframes of the given plan.
+   */
+  static <V> ObjectKeyframeTrack<V> create(ObjectTween<?, V> plan) {
+    TweenProperty<?, V> property = plan.property;
+    return new ObjectKeyframeTrack<>(plan, property.evaluator, property.inPlaceEvaluator);
+  }
+
+  /**
+   * Creates a track from the keyframes of the given plan that interpolates them in place with the
+   * given evaluator instead of the property's.
+   */
+  static <V> ObjectKeyframeTrack<V> create(
+    ObjectTween<?, V> plan, InPlaceEvaluator<V> evaluator) {
+    return new ObjectKeyframeTrack<>(plan, InPlaceEvaluators.allocating(evaluator), evaluator);
+  }
+
+  @Override
+  boolean matches(BaseTween<?> plan) {
+    int count = plan.getValueCount();
+    if (!super.matches(plan) || count != (implicitFrom ? 1 : values.length)) {
+      return false;
+    }
+
+    Object[] planValues = ((ObjectTween<?, ?>) plan).values;
+    int first = implicitFrom ? 1 : 0;
+    for (int i = 0; i < count; i++) {
+      Object value = values[first + i];
+      if (value == null ? planValues[i] != null : !value.equals(planValues[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the value of the track at the given overall fraction.
+   *
+   * @param from The value of the first keyframe, used only if {@link #implicitFrom}.
+   */
+  V getValue(float fraction, V from) {
+    int segment = findSegment(fraction);
+    float segmentFraction = getSegmentFraction(segment, fraction);
+
+    V start = segment == 0 && implicitFrom ? from : (V) values[segment];
+    V end = (V) values[segment + 1];
+    return (V) evaluator.evaluate(segmentFraction, start, end);
+  }
+
+  /**
+   * Returns the value of the track at the given overall fraction, written into the given output
+   * value if the track interpolates in place.
+   *
+   * @param from The value of the first keyframe, used only if {@link #implicitFrom}.
+   * @param out An output value from {@link #createValue()}, or null to allocate a new value.
+   */
+  V getValue(float fraction, V from, @Nullable V out) {
+    if (out == null) {
+      return getValue(fraction, from);
+    }
+
+    int segment = findSegment(fraction);
+    float segmentFraction = getSegmentFraction(segment, fraction);
+
+    V start = segment == 0 && implicitFrom ? from : (V) values[segment];
+    V end = (V) values[segment + 1];
+    inPlaceEvaluator.evaluate(segmentFraction, start, end, out);
+    return out;
+  }
+
+  /**
+   * Returns a new output value for a running tween of this track, or null if the track does not
+   * interpolate in place.
+   */
+  @Nullable
+  V createValue() {
+    return inPlaceEvaluator != null
+      ? inPlaceEvaluator.createValue((V) values[values.length - 1])
+      : null;
+  }
+
+  /**
+   * Returns a copy of the given value that interpolating in place can never modify, or the value
+   * itself if the track does not interpolate in place. An implicit from value read from a target
+   * may be the target's own mutable value, which a running tween writes into.
+   */
+  V snapshot(V value) {
+    if (inPlaceEvaluator == null || value == null) {
+      return value;
+    }
+    V copy = inPlaceEvaluator.createValue(value);
+    inPlaceEvaluator.evaluate(0f, value, value, copy);
+    return copy;
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.graphics.Path;
+import android.graphics.PathMeasure;
+import android.graphics.PointF;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A {@link Path} sampled at evenly spaced distances along its length. Evaluating it is a table
+ * read and a linear interpolation, with no {@link PathMeasure} query.
+ * <p>
+ * As an evaluator, the fraction is the fraction of the path's length, and the start and end values
+ * are ignored. Fractions outside of the range [0,1] extrapolate along the first or last sample.
+ */
+final class PathLookupTable implements InPlaceEvaluator<PointF> {
+
+  private static final int MAX_SAMPLE_COUNT = 2048;
+
+  private static final Map<Path, PathLookupTable> cache = new WeakHashMap<>();
+
+  private final float[] xs;
+  private final float[] ys;
+
+  /**
+   * Creates a table of the given samples, evenly spaced along a path.
+   */
+  PathLookupTable(float[] xs, float[] ys) {
+    if (xs.length < 2 || xs.length != ys.length) {
+      throw new IllegalArgumentException("Need at least two samples of each coordinate");
+    }
+    this.xs = xs;
+    this.ys = ys;
+  }
+
+  /**
+   * Returns the table of the given path, sampling it about once per pixel of its length if it is
+   * not cached. The path must not be modified afterwards.
+   */
+  static PathLookupTable of(Path path) {
+    synchronized (cache) {
+      PathLookupTable table = cache.get(path);
+      if (table != null) {
+        return table;
+      }
+    }
+
+    PathLookupTable table = sample(path);
+    synchronized (cache) {
+      cache.put(path, table);
+    }
+    return table;
+  }
+
+  private static PathLookupTable sample(Path path) {
+    PathMeasure measure = new PathMeasure(path, false);
+    float length = 0f;
+    do {
+      length += measure.getLength();
+    } while (measure.nextContour());
+
+    int count = Math.max(2, Math.min((int) Math.ceil(length) + 1, MAX_SAMPLE_COUNT));
+    float[] xs = new float[count];
+    float[] ys = new float[count];
+    float[] position = new float[2];
+
+    measure.setPath(path, false);
+    float contourStart = 0f;
+    float contourLength = measure.getLength();
+    for (int i = 0; i < count; i++) {
+      float distance = length * i / (count - 1);
+      while (distance > contourStart + contourLength && measure.nextContour()) {
+        contourStart += contourLength;
+        contourLength = measure.getLength();
+      }
+      measure.getPosTan(distance - contourStart, position, null);
+      xs[i] = position[0];
+      ys[i] = position[1];
+    }
+    return new PathLookupTable(xs, ys);
+  }
+
+  /**
+   * Returns the number of samples in this table.
+   */
+  int getSampleCount() {
+    return xs.length;
+  }
+
+  /**
+   * Writes the point at the given fraction of the path's length into the given point.
+   */
+  PointF getPoint(float fraction, PointF out) {
+    float position = fraction * (xs.length - 1);
+    int i = Math.max(0, Math.min((int) Math.floor(position), xs.length - 2));
+    float t = position - i;
+
+    out.x = xs[i] + t * (xs[i + 1] - xs[i]);
+    out.y = ys[i] + t * (ys[i + 1] - ys[i]);
+    return out;
+  }
+
+  @Override
+  public PointF createValue(PointF template) {
+    return new PointF();
+  }
+
+  @Override
+  public void evaluate(float fraction, PointF startValue, PointF endValue, PointF out) {
+    getPoint(fraction, out);
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.graphics.Path;
+import android.graphics.PointF;
+
+/**
+ * Moves an object's point {@link TweenProperty} along a {@link Path}.
+ * <p>
+ * The path is sampled once into a table of points evenly spaced along its length, which is cached
+ * and shared by every tween of the same path. The timing function therefore paces the motion by
+ * distance travelled. The path must not be modified after the tween is created.
+ * <p>
+ * Frames do not allocate: the point passed to the property's setter is reused by every frame, so
+ * the setter must copy it if it keeps it.
+ */
+public class PathTween<T> extends ObjectTween<T, PointF> {
+
+  final PathLookupTable table;
+
+  /**
+   * Initializes a PathTween plan that moves the given property from the start to the end of the
+   * path. Sampling the path may be expensive, so create path tweens ahead of time or off the main
+   * thread.
+   */
+  public PathTween(TweenProperty<? super T, PointF> property, long duration, Path path) {
+    this(property, duration, PathLookupTable.of(path));
+  }
+
+  PathTween(TweenProperty<? super T, PointF> property, long duration, PathLookupTable table) {
+    super(property, duration, new PointF[]{
+      table.getPoint(0f, new PointF()),
+      table.getPoint(1f, new PointF())
+    });
+    this.table = table;
+  }
+
+  @Override
+  KeyframeTrack createTrack() {
+    return ObjectKeyframeTrack.create(this, table);
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.support.annotation.Nullable;
+
+import com.google.android.material.motion.runtime.Performer;
+import com.google.android.material.motion.runtime.Plan;
+
+/**
+ * A tween plan whose target-independent work is already done: it is validated, its keyframes are
+ * compiled, its timing function is sampled and, if it has a {@link BaseTween#bakeInterval}, it is
+ * baked.
+ * <p>
+ * Prepare a tween on a worker thread with {@link #prepare(BaseTween)}, then add it to a runtime
+ * on the main thread like any other plan. Adding it only creates the running tween. A prepared
+ * tween is immutable and may be added any number of times, to any targets.
+ * <p>
+ * Tweens that are added during the same frame start on the same frame, and apply their values in
+ * the order they were added, whether they run on animators or on the shared engine.
+ */
+public final class PreparedTween<T> extends Plan<T> {
+
+  final BaseTween<T> plan;
+  final KeyframeTrack track;
+  final TimeInterpolator timingFunction;
+  @Nullable
+  final BakedTrack baked;
+
+  PreparedTween(BaseTween<T> plan) {
+    KeyframeTrack track = KeyframeTrack.compile(plan);
+    if (plan.repeatCount < BaseTween.INFINITE
+      || (plan.repeatMode != BaseTween.RESTART && plan.repeatMode != BaseTween.REVERSE)) {
+      throw new IllegalArgumentException("Plan failed validation: " + plan);
+    }
+    if (plan.additive && !(track instanceof FloatKeyframeTrack)) {
+      throw new IllegalArgumentException("Only float properties can be additive: " + plan);
+    }
+    this.plan = plan;
+    this.track = track;
+    this.timingFunction = plan.getTimingFunction();
+    this.baked = plan.bakeInterval > 0 ? BakedTrack.bake(plan) : null;
+  }
+
+  /**
+   * Does the target-independent work of adding the given plan, on the calling thread. Later
+   * changes to the plan do not affect the prepared tween.
+   *
+   * @throws IllegalArgumentException If the plan fails validation.
+   */
+  public static <T> PreparedTween<T> prepare(BaseTween<T> plan) {
+    return new PreparedTween<>((BaseTween<T>) plan.clone());
+  }
+
+  @Override
+  protected Class<? extends Performer<T>> getPerformerClass() {
+    return (Class<? extends Performer<T>>) new TweenPerformer<T>().getClass();
+  }
+}
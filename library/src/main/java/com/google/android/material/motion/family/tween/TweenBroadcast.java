@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A group of targets that a {@link BroadcastTween} animates together.
+ * <p>
+ * Targets may join or leave while a broadcast tween is running. A target that joins receives the
+ * running tween's value from the next frame on. A target that leaves keeps its last value.
+ */
+public final class TweenBroadcast<T> {
+
+  private final List<T> targets = new ArrayList<>();
+  private final List<Listener<? super T>> listeners = new ArrayList<>();
+
+  /**
+   * Creates a group of the given targets.
+   */
+  @SafeVarargs
+  public TweenBroadcast(T... targets) {
+    for (T target : targets) {
+      add(target);
+    }
+  }
+
+  /**
+   * Adds the given target to the group. Has no effect if the target is already in the group.
+   */
+  public void add(T target) {
+    if (targets.contains(target)) {
+      return;
+    }
+
+    targets.add(target);
+    for (int i = 0, count = listeners.size(); i < count; i++) {
+      listeners.get(i).onTargetAdded(target);
+    }
+  }
+
+  /**
+   * Removes the given target from the group.
+   *
+   * @return Whether the target was in the group.
+   */
+  public boolean remove(T target) {
+    int index = targets.indexOf(target);
+    if (index == -1) {
+      return false;
+    }
+
+    targets.remove(index);
+    for (int i = 0, count = listeners.size(); i < count; i++) {
+      listeners.get(i).onTargetRemoved(index, target);
+    }
+    return true;
+  }
+
+  /**
+   * Returns the number of targets in the group.
+   */
+  public int size() {
+    return targets.size();
+  }
+
+  /**
+   * Returns the target at the given index, in the order the targets were added.
+   */
+  public T get(int index) {
+    return targets.get(index);
+  }
+
+  void addListener(Listener<? super T> listener) {
+    listeners.add(listener);
+  }
+
+  void removeListener(Listener<? super T> listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Notified when targets join or leave the group, so that running tweens can keep per-target
+   * state.
+   */
+  interface Listener<T> {
+
+    /**
+     * Called after the target was added at the end of the group.
+     */
+    void onTargetAdded(T target);
+
+    /**
+     * Called after the given target was removed from the given index.
+     */
+    void onTargetRemoved(int index, T target);
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.os.SystemClock;
+
+/**
+ * A source of time for a {@link TweenTimeline}, in milliseconds.
+ */
+public abstract class TweenClock {
+
+  /**
+   * A clock that follows {@link SystemClock#uptimeMillis()}, the time base of animation frames.
+   */
+  public static final TweenClock UPTIME = new TweenClock() {
+    @Override
+    public long getTimeMillis() {
+      return SystemClock.uptimeMillis();
+    }
+  };
+
+  /**
+   * Returns the current time in milliseconds. Must never decrease, unless the clock is being
+   * scrubbed on purpose.
+   */
+  public abstract long getTimeMillis();
+}
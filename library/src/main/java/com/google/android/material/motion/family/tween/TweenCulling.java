@@ -0,0 +1,47 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.graphics.Rect;
+import android.view.View;
+
+/**
+ * Decides whether a tween target is visible, for tweens that {@link BaseTween#cullWhenInvisible
+ * cull} frames of invisible targets.
+ */
+final class TweenCulling {
+
+  /**
+   * Views are only accessed from the main thread, so one rect serves every check.
+   */
+  private static final Rect visibleRect = new Rect();
+
+  private TweenCulling() {
+  }
+
+  /**
+   * Returns whether the target is visible on screen. A view is visible if it and its ancestors
+   * are attached and shown, and part of it is inside the bounds of its ancestors, as opposed to
+   * scrolled out of a scrolling container. Targets that are not views are always visible.
+   */
+  static boolean isVisible(Object target) {
+    if (!(target instanceof View)) {
+      return true;
+    }
+    View view = (View) target;
+    return view.isShown() && view.getGlobalVisibleRect(visibleRect);
+  }
+}
@@ -0,0 +1,892 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.animation.ValueAnimator;
+import android.annotation.TargetApi;
+import android.os.Build.VERSION;
+import android.os.Build.VERSION_CODES;
+import android.os.Handler;
+import android.os.SystemClock;
+import android.support.annotation.Nullable;
+import android.view.Choreographer;
+import android.view.Choreographer.FrameCallback;
+import android.view.View;
+import android.view.View.OnAttachStateChangeListener;
+
+import com.google.android.material.motion.runtime.PerformerFeatures.ContinuousPerforming.IsActiveToken;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+/**
+ * Runs every tween on its thread from a single frame callback.
+ * <p>
+ * Tweens are stored in flat parallel arrays rather than as individual animator objects, so the
+ * cost of a frame scales with the number of active tweens and not with animator bookkeeping.
+ * <p>
+ * The engine references targets and tokens weakly, so it never retains a target. A tween of a view,
+ * or of a drawable drawn by a view, is bound to the view: the view keeps its token reachable, so
+ * the tween runs to its end for as long as the view lives, and the tween ends at its final value
+ * when the view is detached from its window. A tween whose target, or whose unbound token, has
+ * been collected is dropped.
+ * <p>
+ * The contributions of {@link BaseTween#additive additive} tweens of the same property on the same
+ * target are summed during a frame and applied with one setter call at its end.
+ */
+class TweenEngine {
+
+  private static final ThreadLocal<TweenEngine> instance = new ThreadLocal<>();
+  private static final long UNSET = -1;
+  private static final int INITIAL_CAPACITY = 16;
+
+  private int count;
+  private long[] startTimes = new long[INITIAL_CAPACITY];
+  private long[] delays = new long[INITIAL_CAPACITY];
+  private long[] durations = new long[INITIAL_CAPACITY];
+  /**
+   * The number of times each tween repeats, or {@link BaseTween#INFINITE}.
+   */
+  private int[] repeatCounts = new int[INITIAL_CAPACITY];
+  private int[] repeatModes = new int[INITIAL_CAPACITY];
+  private TimeInterpolator[] timingFunctions = new TimeInterpolator[INITIAL_CAPACITY];
+  private KeyframeTrack[] tracks = new KeyframeTrack[INITIAL_CAPACITY];
+  private WeakReference<?>[] targets = new WeakReference<?>[INITIAL_CAPACITY];
+  private TweenProperty<?, ?>[] properties = new TweenProperty<?, ?>[INITIAL_CAPACITY];
+  private float[] floatFroms = new float[INITIAL_CAPACITY];
+  private float[] velocities = new float[INITIAL_CAPACITY];
+  private Object[] objectFroms = new Object[INITIAL_CAPACITY];
+  /**
+   * The value that each object track is interpolated into, or null if it allocates new values.
+   */
+  private Object[] objectValues = new Object[INITIAL_CAPACITY];
+  private boolean[] started = new boolean[INITIAL_CAPACITY];
+  /**
+   * The token of each tween, or null once the tween is removed.
+   */
+  private WeakReference<?>[] tokens = new WeakReference<?>[INITIAL_CAPACITY];
+  /**
+   * The binding of each tween to the view of its target, or null if the target has no view.
+   */
+  private ViewBinding[] bindings = new ViewBinding[INITIAL_CAPACITY];
+  private TweenMetrics[] metrics = new TweenMetrics[INITIAL_CAPACITY];
+  private BakedTrack[] bakedTracks = new BakedTrack[INITIAL_CAPACITY];
+  private boolean[] culled = new boolean[INITIAL_CAPACITY];
+  private boolean[] essential = new boolean[INITIAL_CAPACITY];
+  private TweenPolicy[] policies = new TweenPolicy[INITIAL_CAPACITY];
+  private long[] appliedTimes = new long[INITIAL_CAPACITY];
+  /**
+   * The sum that each additive tween contributes to, or null if the tween is not additive.
+   */
+  private AdditiveSum[] sums = new AdditiveSum[INITIAL_CAPACITY];
+  /**
+   * The value of each additive tween at its start, which its contribution is relative to.
+   */
+  private float[] floatStarts = new float[INITIAL_CAPACITY];
+
+  private IsActiveToken[] finishedTokens = new IsActiveToken[INITIAL_CAPACITY];
+  private TweenMetrics[] finishedMetrics = new TweenMetrics[INITIAL_CAPACITY];
+  /**
+   * The sums that were contributed to during the current frame and have yet to be applied.
+   */
+  private AdditiveSum[] dirtySums = new AdditiveSum[INITIAL_CAPACITY];
+  private int dirtyCount;
+
+  private long frameTime;
+  private boolean inFrame;
+  private boolean frameScheduled;
+  private FrameCallback frameCallback;
+  private Runnable frameRunnable;
+  private Handler handler;
+
+  /**
+   * Returns the engine for the calling thread, which must have a looper.
+   */
+  static TweenEngine getInstance() {
+    TweenEngine engine = instance.get();
+    if (engine == null) {
+      engine = new TweenEngine();
+      instance.set(engine);
+    }
+    return engine;
+  }
+
+  /**
+   * Returns the engine for the calling thread, or null if it has not been created.
+   */
+  @Nullable
+  static TweenEngine peekInstance() {
+    return instance.get();
+  }
+
+  /**
+   * Returns the number of tweens that have not yet finished.
+   */
+  int getActiveCount() {
+    return count;
+  }
+
+  /**
+   * Adds a prepared tween that will start on the next frame. Tweens added before the same frame
+   * start on that frame and apply their values in the order they were added.
+   *
+   * @param velocity The velocity in units per millisecond carried over from an interrupted tween.
+   * Only applies to {@link FloatKeyframeTrack float tracks}.
+   * @param token The token to terminate once the tween finishes. The engine references it weakly.
+   * If the target is bound to a view, the view keeps it reachable. Otherwise the caller must keep
+   * it reachable while the tween runs.
+   * @param metrics The metrics to record the tween's frames in, or null to record nothing.
+   */
+  void add(
+    Object target,
+    PreparedTween<?> prepared,
+    float velocity,
+    IsActiveToken token,
+    @Nullable TweenMetrics metrics) {
+    if (count == targets.length) {
+      grow(count * 2);
+    }
+
+    BaseTween<?> plan = prepared.plan;
+    KeyframeTrack track = prepared.track;
+    int i = count++;
+    startTimes[i] = UNSET;
+    TweenPolicy policy = TweenPolicy.resolve(plan.policy);
+    delays[i] = policy.scale(plan.delay, plan.essential);
+    durations[i] = policy.scale(plan.duration, plan.essential);
+    repeatCounts[i] = plan.repeatCount;
+    repeatModes[i] = plan.repeatMode;
+    timingFunctions[i] = prepared.timingFunction;
+    tracks[i] = track;
+    targets[i] = new WeakReference<>(target);
+    properties[i] = track.property;
+    velocities[i] = velocity;
+    started[i] = false;
+    tokens[i] = new WeakReference<>(token);
+    this.metrics[i] = metrics;
+    bakedTracks[i] = prepared.baked;
+    objectValues[i] = bakedTracks[i] == null && track instanceof ObjectKeyframeTrack
+      ? ((ObjectKeyframeTrack<?>) track).createValue()
+      : null;
+    culled[i] = plan.cullWhenInvisible;
+    essential[i] = plan.essential;
+    policies[i] = plan.policy;
+    appliedTimes[i] = UNSET;
+    sums[i] = plan.additive ? findSum(target, track.property, i) : null;
+    if (sums[i] != null) {
+      sums[i].tweens++;
+    }
+
+    View view = TweenLifecycle.getView(target);
+    if (view != null) {
+      bindings[i] = new ViewBinding(view, token);
+      view.addOnAttachStateChangeListener(bindings[i]);
+    } else {
+      bindings[i] = null;
+    }
+    scheduleFrame();
+  }
+
+  /**
+   * Advances every tween to the given frame time and applies its value to its target.
+   */
+  void doFrame(long frameTimeMillis) {
+    frameScheduled = false;
+    long frameInterval = Math.max(0, frameTimeMillis - frameTime);
+    frameTime = frameTimeMillis;
+    inFrame = true;
+
+    int n = count;
+    int kept = 0;
+    int finished = 0;
+    float systemScale = n > 0 ? TweenPolicy.getSystemDurationScale() : 1f;
+    for (int i = 0; i < n; i++) {
+      if (tokens[i] == null) {
+        // Cancelled.
+        continue;
+      }
+
+      Object target = targets[i].get();
+      IsActiveToken token = getToken(i);
+      if (target == null || token == null) {
+        // The target, or the performer that keeps the unbound token, has been collected.
+        unbind(i);
+        if (sums[i] != null) {
+          dropFromSum(i);
+        }
+        if (metrics[i] != null) {
+          metrics[i].finish(true);
+        }
+        finished = addFinished(finished, token, null);
+        clear(i);
+        continue;
+      }
+
+      if (startTimes[i] == UNSET) {
+        // Scaled as ValueAnimator scales animators when they start.
+        if (systemScale != 1f) {
+          delays[i] = (long) (delays[i] * systemScale);
+          durations[i] = (long) (durations[i] * systemScale);
+        }
+        startTimes[i] = frameTimeMillis + delays[i];
+      }
+
+      long elapsed = frameTimeMillis - startTimes[i];
+      if (elapsed >= 0) {
+        if (!started[i]) {
+          started[i] = true;
+          readFrom(i);
+        }
+
+        TweenPolicy policy = TweenPolicy.resolve(policies[i]);
+        boolean ended = policy.skips(essential[i]) || isEnded(i, elapsed);
+        float fraction = ended ? getEndFraction(i) : getLinearFraction(i, elapsed);
+        boolean applied = false;
+        if (!ended
+          && appliedTimes[i] != UNSET
+          && policy.throttles(frameTimeMillis - appliedTimes[i], frameInterval)) {
+          if (metrics[i] != null) {
+            metrics[i].onThrottledFrame(frameTimeMillis);
+          }
+        } else if (culled[i] && !ended && !TweenCulling.isVisible(target)) {
+          if (metrics[i] != null) {
+            metrics[i].onCulledFrame(frameTimeMillis);
+          }
+        } else {
+          appliedTimes[i] = frameTimeMillis;
+          applied = true;
+        }
+
+        if (sums[i] != null) {
+          addToSum(i, target, fraction, ended, applied);
+        } else if (applied) {
+          apply(i, fraction);
+        }
+
+        if (!ended && velocities[i] != 0f && elapsed >= durations[i]) {
+          // The carried over velocity only decays over the first repetition.
+          velocities[i] = 0f;
+        }
+
+        if (ended) {
+          finished = addFinished(finished, token, metrics[i]);
+          if (sums[i] == null) {
+            storeValue(i, fraction, true);
+          }
+          unbind(i);
+          clear(i);
+          continue;
+        }
+      }
+
+      if (kept != i) {
+        move(i, kept);
+        clear(i);
+      }
+      kept++;
+    }
+
+    // Keep any tween that was added while applying values.
+    for (int i = n; i < count; i++) {
+      if (tokens[i] != null) {
+        move(i, kept);
+        if (kept != i) {
+          clear(i);
+        }
+        kept++;
+      }
+    }
+    for (int i = kept; i < count; i++) {
+      clear(i);
+    }
+    count = kept;
+    applySums();
+    inFrame = false;
+
+    if (count > 0) {
+      scheduleFrame();
+    }
+
+    // Terminate last, since terminating a token may add new tweens.
+    for (int i = 0; i < finished; i++) {
+      IsActiveToken token = finishedTokens[i];
+      finishedTokens[i] = null;
+      if (token != null) {
+        token.terminate();
+      }
+
+      TweenMetrics tweenMetrics = finishedMetrics[i];
+      finishedMetrics[i] = null;
+      if (tweenMetrics != null) {
+        tweenMetrics.finish(false);
+      }
+    }
+  }
+
+  private int addFinished(int finished, @Nullable IsActiveToken token, @Nullable TweenMetrics m) {
+    if (finished == finishedTokens.length) {
+      finishedTokens = Arrays.copyOf(finishedTokens, finished * 2);
+      finishedMetrics = Arrays.copyOf(finishedMetrics, finished * 2);
+    }
+    finishedTokens[finished] = token;
+    finishedMetrics[finished] = m;
+    return finished + 1;
+  }
+
+  /**
+   * Cancels the tweens of the given property on the given target, if any. Their tokens are
+   * terminated immediately.
+   *
+   * @return The velocity of the cancelled tween in units per millisecond, or 0 if it is unknown.
+   */
+  float cancel(Object target, TweenProperty<?, ?> property) {
+    return cancel(target, property, false);
+  }
+
+  /**
+   * Cancels the tweens of the given property on the given target that a new tween replaces. A new
+   * additive tween only replaces tweens that are not additive.
+   *
+   * @return The velocity of the cancelled tween in units per millisecond, or 0 if it is unknown.
+   */
+  float cancel(Object target, TweenProperty<?, ?> property, boolean additive) {
+    float velocity = 0f;
+    // Removing a tween outside of a frame shifts the tweens after it.
+    for (int i = count - 1; i >= 0; i--) {
+      if (i >= count
+        || tokens[i] == null
+        || properties[i] != property
+        || targets[i].get() != target
+        || (additive && sums[i] != null)) {
+        continue;
+      }
+
+      AdditiveSum sum = sums[i];
+      if (sum != null) {
+        // The sum may have been contributed to earlier in this frame.
+        sum.cancelled = true;
+        if (sum.started) {
+          TweenValueStore.putFloat(target, property, sum.value, false);
+        }
+      } else {
+        velocity += getVelocity(i);
+        if (appliedTimes[i] != UNSET) {
+          storeValue(i, getLinearFraction(i, appliedTimes[i] - startTimes[i]), false);
+        }
+      }
+      remove(i, true);
+    }
+    return velocity;
+  }
+
+  /**
+   * Ends every tween whose target is bound to the given view at its final value. Their tokens are
+   * terminated immediately.
+   */
+  void end(View view) {
+    for (int i = count - 1; i >= 0; i--) {
+      // Terminating a token may cancel other tweens.
+      if (i >= count || tokens[i] == null) {
+        continue;
+      }
+      Object target = targets[i].get();
+      if (target == null || TweenLifecycle.getView(target) != view) {
+        continue;
+      }
+
+      if (!started[i]) {
+        started[i] = true;
+        readFrom(i);
+      }
+      float fraction = getEndFraction(i);
+      if (sums[i] != null) {
+        addToSum(i, target, fraction, true, true);
+      } else {
+        apply(i, fraction);
+        storeValue(i, fraction, true);
+      }
+      remove(i, false);
+    }
+
+    if (!inFrame) {
+      applySums();
+    }
+  }
+
+  /**
+   * Removes the tween at the given index, terminates its token and finishes its metrics.
+   */
+  private void remove(int i, boolean cancelled) {
+    IsActiveToken token = getToken(i);
+    TweenMetrics tweenMetrics = metrics[i];
+    unbind(i);
+
+    // A null token marks the tween as removed. Mid-frame, doFrame() removes it.
+    tokens[i] = null;
+    if (!inFrame) {
+      for (int j = i + 1; j < count; j++) {
+        move(j, j - 1);
+      }
+      clear(--count);
+    }
+
+    if (token != null) {
+      token.terminate();
+    }
+    if (tweenMetrics != null) {
+      tweenMetrics.finish(cancelled);
+    }
+  }
+
+  @Nullable
+  private IsActiveToken getToken(int i) {
+    WeakReference<?> token = tokens[i];
+    return token != null ? (IsActiveToken) token.get() : null;
+  }
+
+  private void unbind(int i) {
+    ViewBinding binding = bindings[i];
+    if (binding != null) {
+      binding.view.removeOnAttachStateChangeListener(binding);
+      bindings[i] = null;
+    }
+  }
+
+  private boolean isEnded(int i, long elapsed) {
+    return BaseTween.isEnded(elapsed, durations[i], repeatCounts[i]);
+  }
+
+  private float getEndFraction(int i) {
+    return BaseTween.getEndFraction(repeatCounts[i], repeatModes[i]);
+  }
+
+  private float getLinearFraction(int i, long elapsed) {
+    return BaseTween.getLinearFraction(elapsed, durations[i], repeatCounts[i], repeatModes[i]);
+  }
+
+  /**
+   * Returns the sum of the additive tweens of the given property on the given target, or a new sum
+   * if there are none.
+   *
+   * @param added The index of the tween being added.
+   */
+  private AdditiveSum findSum(Object target, TweenProperty<?, ?> property, int added) {
+    for (int i = 0; i < added; i++) {
+      if (sums[i] != null
+        && !sums[i].cancelled
+        && tokens[i] != null
+        && properties[i] == property
+        && targets[i].get() == target) {
+        return sums[i];
+      }
+    }
+    return new AdditiveSum();
+  }
+
+  /**
+   * Starts an additive tween. Its implicit from value is the value that the property settles at
+   * once every started tween of the sum ends.
+   */
+  private void startAdditive(int i) {
+    AdditiveSum sum = sums[i];
+    FloatKeyframeTrack track = (FloatKeyframeTrack) tracks[i];
+    if (!sum.started) {
+      sum.started = true;
+      sum.base = TweenValueStore.readFloat(targets[i].get(), track);
+      sum.settled = sum.base;
+      sum.value = sum.base;
+    }
+
+    floatFroms[i] = sum.settled;
+    floatStarts[i] = getFloatValue(i, 0f);
+    sum.settled += getFloatValue(i, getEndFraction(i)) - floatStarts[i];
+  }
+
+  /**
+   * Removes an additive tween that is dropped before its end from its sum. The contribution that it
+   * last applied moves to the base of the sum, so that the property keeps its value.
+   */
+  private void dropFromSum(int i) {
+    AdditiveSum sum = sums[i];
+    sum.tweens--;
+    if (!started[i]) {
+      return;
+    }
+
+    float fraction =
+      appliedTimes[i] != UNSET ? getLinearFraction(i, appliedTimes[i] - startTimes[i]) : 0f;
+    float applied = getFloatValue(i, fraction) - floatStarts[i];
+    sum.base += applied;
+    sum.settled += applied - (getFloatValue(i, getEndFraction(i)) - floatStarts[i]);
+  }
+
+  /**
+   * Adds the contribution of an additive tween at the given linear fraction to its sum. Once a
+   * tween ends, its whole contribution moves to the base of the sum.
+   *
+   * @param applied Whether the tween would apply its value on this frame, rather than skip it.
+   */
+  private void addToSum(int i, Object target, float fraction, boolean ended, boolean applied) {
+    AdditiveSum sum = sums[i];
+    float delta = getFloatValue(i, fraction) - floatStarts[i];
+    if (ended) {
+      sum.base += delta;
+      sum.tweens--;
+    } else {
+      sum.delta += delta;
+    }
+
+    if (applied) {
+      sum.applied = true;
+      if (metrics[i] != null) {
+        metrics[i].onFrame(frameTime);
+        if (sum.metrics == null) {
+          sum.metrics = metrics[i];
+        }
+      }
+    }
+
+    if (sum.target == null) {
+      sum.target = target;
+      sum.property = typed(properties[i]);
+      if (dirtyCount == dirtySums.length) {
+        dirtySums = Arrays.copyOf(dirtySums, dirtyCount * 2);
+      }
+      dirtySums[dirtyCount++] = sum;
+    }
+  }
+
+  /**
+   * Applies every sum that was contributed to with one setter call each.
+   */
+  private void applySums() {
+    for (int k = 0; k < dirtyCount; k++) {
+      AdditiveSum sum = dirtySums[k];
+      dirtySums[k] = null;
+      Object target = sum.target;
+      TweenMetrics tweenMetrics = sum.metrics;
+      sum.target = null;
+      sum.metrics = null;
+      if (sum.cancelled) {
+        continue;
+      }
+
+      float value = sum.base + sum.delta;
+      boolean settled = sum.tweens == 0;
+      if (sum.applied || settled) {
+        sum.value = value;
+        long setterStart = tweenMetrics != null ? System.nanoTime() : 0;
+        sum.property.setValue(target, value);
+        if (tweenMetrics != null) {
+          tweenMetrics.onSetter(System.nanoTime() - setterStart);
+        }
+      }
+      if (settled) {
+        TweenValueStore.putFloat(target, sum.property, value, true);
+      }
+      sum.delta = 0f;
+      sum.applied = false;
+    }
+    dirtyCount = 0;
+  }
+
+  private float getVelocity(int i) {
+    long duration = durations[i];
+    if (!started[i]
+      || duration <= 0
+      || sums[i] != null
+      || !(tracks[i] instanceof FloatKeyframeTrack)) {
+      return 0f;
+    }
+
+    long elapsed = frameTime - startTimes[i];
+    FloatKeyframeTrack track = (FloatKeyframeTrack) tracks[i];
+    float fraction = getLinearFraction(i, elapsed);
+    float previousFraction = getLinearFraction(i, elapsed - 1);
+    return track.getValue(
+      fraction, timingFunctions[i], duration, floatFroms[i], velocities[i])
+      - track.getValue(
+      previousFraction, timingFunctions[i], duration, floatFroms[i], velocities[i]);
+  }
+
+  private void readFrom(int i) {
+    if (sums[i] != null) {
+      startAdditive(i);
+      return;
+    }
+
+    KeyframeTrack track = tracks[i];
+    if (!track.implicitFrom) {
+      return;
+    }
+
+    Object target = targets[i].get();
+    if (track instanceof FloatKeyframeTrack) {
+      FloatKeyframeTrack floatTrack = (FloatKeyframeTrack) track;
+      floatFroms[i] = TweenValueStore.readFloat(target, floatTrack);
+      velocities[i] = floatTrack.getHandOffVelocity(
+        velocities[i], timingFunctions[i], durations[i], floatFroms[i]);
+    } else {
+      objectFroms[i] = TweenValueStore.read(target, (ObjectKeyframeTrack<?>) track);
+    }
+  }
+
+  /**
+   * Records the value that the tween applied at the given linear fraction in the
+   * {@link TweenValueStore}.
+   */
+  private void storeValue(int i, float linearFraction, boolean settled) {
+    Object target = targets[i].get();
+    if (target == null) {
+      return;
+    }
+    if (tracks[i] instanceof FloatKeyframeTrack) {
+      float value = getFloatValue(i, linearFraction);
+      TweenValueStore.putFloat(target, properties[i], value, settled);
+    } else {
+      TweenValueStore.put(target, properties[i], getObjectValue(i, linearFraction), settled);
+    }
+  }
+
+  private void apply(int i, float linearFraction) {
+    TweenMetrics tweenMetrics = metrics[i];
+    if (tweenMetrics != null) {
+      tweenMetrics.onFrame(frameTime);
+    }
+
+    if (tracks[i] instanceof FloatKeyframeTrack) {
+      float value = getFloatValue(i, linearFraction);
+      long setterStart = tweenMetrics != null ? System.nanoTime() : 0;
+      FloatTweenProperty<Object> property = typed(properties[i]);
+      property.setValue(targets[i].get(), value);
+      if (tweenMetrics != null) {
+        tweenMetrics.onSetter(System.nanoTime() - setterStart);
+      }
+    } else {
+      Object value = getObjectValue(i, linearFraction);
+      long setterStart = tweenMetrics != null ? System.nanoTime() : 0;
+      TweenProperty<Object, Object> property = typed(properties[i]);
+      property.property.set(targets[i].get(), value);
+      if (tweenMetrics != null) {
+        tweenMetrics.onSetter(System.nanoTime() - setterStart);
+      }
+    }
+  }
+
+  private float getFloatValue(int i, float linearFraction) {
+    BakedTrack baked = bakedTracks[i];
+    if (baked != null) {
+      return baked.getFloatValue(linearFraction, floatFroms[i])
+        + FloatKeyframeTrack.getVelocityOffset(linearFraction, durations[i], velocities[i]);
+    }
+    return ((FloatKeyframeTrack) tracks[i]).getValue(
+      linearFraction, timingFunctions[i], durations[i], floatFroms[i], velocities[i]);
+  }
+
+  private Object getObjectValue(int i, float linearFraction) {
+    BakedTrack baked = bakedTracks[i];
+    if (baked != null) {
+      return baked.getValue(linearFraction);
+    }
+    float fraction = timingFunctions[i].getInterpolation(linearFraction);
+    ObjectKeyframeTrack<Object> track = typed(tracks[i]);
+    return track.getValue(fraction, objectFroms[i], objectValues[i]);
+  }
+
+  /**
+   * Returns a property or track of a slot, typed for the target and values of the slot. A tween is
+   * only ever added with a target and values that its property and track accept.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> T typed(Object propertyOrTrack) {
+    return (T) propertyOrTrack;
+  }
+
+  /**
+   * Schedules {@link #doFrame(long)} to be called on the next frame.
+   */
+  void scheduleFrame() {
+    if (frameScheduled) {
+      return;
+    }
+    frameScheduled = true;
+
+    if (VERSION.SDK_INT >= VERSION_CODES.JELLY_BEAN) {
+      postFrameCallback();
+    } else {
+      if (handler == null) {
+        handler = new Handler();
+        frameRunnable = new Runnable() {
+          @Override
+          public void run() {
+            doFrame(SystemClock.uptimeMillis());
+          }
+        };
+      }
+      handler.postDelayed(frameRunnable, ValueAnimator.getFrameDelay());
+    }
+  }
+
+  @TargetApi(VERSION_CODES.JELLY_BEAN)
+  private void postFrameCallback() {
+    if (frameCallback == null) {
+      frameCallback = new FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+          TweenEngine.this.doFrame(frameTimeNanos / 1000000);
+        }
+      };
+    }
+    Choreographer.getInstance().postFrameCallback(frameCallback);
+  }
+
+  private void move(int from, int to) {
+    startTimes[to] = startTimes[from];
+    delays[to] = delays[from];
+    durations[to] = durations[from];
+    repeatCounts[to] = repeatCounts[from];
+    repeatModes[to] = repeatModes[from];
+    timingFunctions[to] = timingFunctions[from];
+    tracks[to] = tracks[from];
+    targets[to] = targets[from];
+    properties[to] = properties[from];
+    floatFroms[to] = floatFroms[from];
+    velocities[to] = velocities[from];
+    objectFroms[to] = objectFroms[from];
+    objectValues[to] = objectValues[from];
+    started[to] = started[from];
+    tokens[to] = tokens[from];
+    bindings[to] = bindings[from];
+    metrics[to] = metrics[from];
+    bakedTracks[to] = bakedTracks[from];
+    culled[to] = culled[from];
+    essential[to] = essential[from];
+    policies[to] = policies[from];
+    appliedTimes[to] = appliedTimes[from];
+    sums[to] = sums[from];
+    floatStarts[to] = floatStarts[from];
+  }
+
+  private void clear(int i) {
+    timingFunctions[i] = null;
+    tracks[i] = null;
+    targets[i] = null;
+    properties[i] = null;
+    objectFroms[i] = null;
+    objectValues[i] = null;
+    tokens[i] = null;
+    bindings[i] = null;
+    metrics[i] = null;
+    bakedTracks[i] = null;
+    policies[i] = null;
+    sums[i] = null;
+  }
+
+  private void grow(int capacity) {
+    startTimes = Arrays.copyOf(startTimes, capacity);
+    delays = Arrays.copyOf(delays, capacity);
+    durations = Arrays.copyOf(durations, capacity);
+    repeatCounts = Arrays.copyOf(repeatCounts, capacity);
+    repeatModes = Arrays.copyOf(repeatModes, capacity);
+    timingFunctions = Arrays.copyOf(timingFunctions, capacity);
+    tracks = Arrays.copyOf(tracks, capacity);
+    targets = Arrays.copyOf(targets, capacity);
+    properties = Arrays.copyOf(properties, capacity);
+    floatFroms = Arrays.copyOf(floatFroms, capacity);
+    velocities = Arrays.copyOf(velocities, capacity);
+    objectFroms = Arrays.copyOf(objectFroms, capacity);
+    objectValues = Arrays.copyOf(objectValues, capacity);
+    started = Arrays.copyOf(started, capacity);
+    tokens = Arrays.copyOf(tokens, capacity);
+    bindings = Arrays.copyOf(bindings, capacity);
+    metrics = Arrays.copyOf(metrics, capacity);
+    bakedTracks = Arrays.copyOf(bakedTracks, capacity);
+    culled = Arrays.copyOf(culled, capacity);
+    essential = Arrays.copyOf(essential, capacity);
+    policies = Arrays.copyOf(policies, capacity);
+    appliedTimes = Arrays.copyOf(appliedTimes, capacity);
+    sums = Arrays.copyOf(sums, capacity);
+    floatStarts = Arrays.copyOf(floatStarts, capacity);
+  }
+
+  /**
+   * Binds a tween to the view of its target. The view references the binding, and through it the
+   * tween's token, so that the tween runs for as long as the view lives, like a tween run by an
+   * animator.
+   */
+  private final class ViewBinding implements OnAttachStateChangeListener {
+
+    final View view;
+    final IsActiveToken token;
+
+    ViewBinding(View view, IsActiveToken token) {
+      this.view = view;
+      this.token = token;
+    }
+
+    @Override
+    public void onViewAttachedToWindow(View view) {
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(View view) {
+      end(view);
+    }
+  }
+
+  /**
+   * The additive tweens of one property on one target. Their contributions are summed during a
+   * frame and applied with one setter call at its end.
+   */
+  private static final class AdditiveSum {
+
+    /**
+     * The number of tweens that contribute to the sum and have not ended.
+     */
+    int tweens;
+    boolean started;
+    boolean cancelled;
+    /**
+     * The value of the property before the first tween started, plus the whole contribution of
+     * every tween that has ended.
+     */
+    float base;
+    /**
+     * The value that the property settles at once every started tween ends.
+     */
+    float settled;
+    /**
+     * The last applied value.
+     */
+    float value;
+
+    /**
+     * The contributions of the current frame, while the sum waits to be applied.
+     */
+    float delta;
+    boolean applied;
+    @Nullable
+    Object target;
+    FloatTweenProperty<Object> property;
+    /**
+     * The metrics of the first tween that applied its contribution on the current frame, if any,
+     * which are charged with the setter call of the sum.
+     */
+    @Nullable
+    TweenMetrics metrics;
+  }
+}
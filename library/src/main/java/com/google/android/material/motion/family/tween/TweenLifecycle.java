@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.graphics.drawable.Drawable;
+import android.support.annotation.Nullable;
+import android.view.View;
+
+/**
+ * Binds tweens to the lifecycle of their target. A tween of a view, or of a drawable drawn by a
+ * view, ends at its final value when the view is detached from its window. Destroying an activity
+ * detaches all of its views.
+ */
+final class TweenLifecycle {
+
+  private TweenLifecycle() {
+  }
+
+  /**
+   * Returns the view whose detachment ends the tweens of the given target, or null if the target's
+   * tweens are not bound to a view.
+   */
+  @Nullable
+  static View getView(@Nullable Object target) {
+    if (target instanceof View) {
+      return (View) target;
+    }
+    if (target instanceof Drawable) {
+      Drawable.Callback callback = ((Drawable) target).getCallback();
+      if (callback instanceof View) {
+        return (View) callback;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+/**
+ * Runtime measurements of a single tween, reported to a {@link TweenMetricsListener}.
+ * <p>
+ * Metrics are only recorded while a listener is {@link TweenPerformer#setMetricsListener(
+ * TweenMetricsListener) set}. Tweens added without a listener record nothing.
+ */
+public final class TweenMetrics {
+
+  /**
+   * The frame interval that skipped frames are counted against, in milliseconds.
+   */
+  public static final float EXPECTED_FRAME_INTERVAL_MILLIS = 1000f / 60;
+
+  private static final long UNSET = -1;
+
+  private final TweenMetricsListener listener;
+  private final TweenProperty<?, ?> property;
+  private final long addTime;
+  private final long delay;
+
+  private long startLatency = UNSET;
+  private long lastFrameTime = UNSET;
+  private int framesApplied;
+  private int skippedFrames;
+  private int culledFrames;
+  private int throttledFrames;
+  private long totalSetterTime;
+  private long maxSetterTime;
+  private boolean cancelled;
+  private boolean finished;
+
+  /**
+   * @param addTime The time the tween was added, in milliseconds of
+   * {@link android.os.SystemClock#uptimeMillis() uptime} like frame times.
+   * @param delay The start delay of the tween, which does not count towards its start latency.
+   */
+  TweenMetrics(
+    TweenMetricsListener listener, TweenProperty<?, ?> property, long addTime, long delay) {
+    this.listener = listener;
+    this.property = property;
+    this.addTime = addTime;
+    this.delay = delay;
+  }
+
+  /**
+   * Returns the property that the tween animated.
+   */
+  public TweenProperty<?, ?> getProperty() {
+    return property;
+  }
+
+  /**
+   * Returns the time from adding the tween to its first applied frame in milliseconds, not
+   * counting its start delay. Returns -1 if no frame was applied.
+   */
+  public long getStartLatencyMillis() {
+    return startLatency;
+  }
+
+  /**
+   * Returns the number of frames whose value was applied to the target.
+   */
+  public int getFramesApplied() {
+    return framesApplied;
+  }
+
+  /**
+   * Returns the number of frames that were expected between applied frames but never arrived,
+   * assuming a frame every {@link #EXPECTED_FRAME_INTERVAL_MILLIS}.
+   */
+  public int getSkippedFrames() {
+    return skippedFrames;
+  }
+
+  /**
+   * Returns the number of frames that were not applied because the target was not visible.
+   *
+   * @see BaseTween#cullWhenInvisible
+   */
+  public int getCulledFrames() {
+    return culledFrames;
+  }
+
+  /**
+   * Returns the number of frames that were not applied to honor the
+   * {@link TweenPolicy#maxFrameRate maximum frame rate} of the tween's policy.
+   */
+  public int getThrottledFrames() {
+    return throttledFrames;
+  }
+
+  /**
+   * Returns the time spent in the property's setter over all frames, in nanoseconds.
+   */
+  public long getTotalSetterTimeNanos() {
+    return totalSetterTime;
+  }
+
+  /**
+   * Returns the longest time spent in the property's setter on a single frame, in nanoseconds.
+   */
+  public long getMaxSetterTimeNanos() {
+    return maxSetterTime;
+  }
+
+  /**
+   * Returns whether the tween was cancelled before it finished.
+   */
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Records a frame applied at the given frame time.
+   */
+  void onFrame(long frameTime) {
+    onFrameTime(frameTime);
+    framesApplied++;
+  }
+
+  /**
+   * Records a frame at the given frame time that was not applied because the target was not
+   * visible.
+   */
+  void onCulledFrame(long frameTime) {
+    onFrameTime(frameTime);
+    culledFrames++;
+  }
+
+  /**
+   * Records a frame at the given frame time that was not applied to honor the maximum frame rate.
+   */
+  void onThrottledFrame(long frameTime) {
+    onFrameTime(frameTime);
+    throttledFrames++;
+  }
+
+  private void onFrameTime(long frameTime) {
+    if (lastFrameTime == UNSET) {
+      startLatency = Math.max(0, frameTime - addTime - delay);
+    } else {
+      long gap = frameTime - lastFrameTime;
+      skippedFrames += Math.max(0, Math.round(gap / EXPECTED_FRAME_INTERVAL_MILLIS) - 1);
+    }
+    lastFrameTime = frameTime;
+  }
+
+  /**
+   * Records the time spent in the setter on the current frame.
+   */
+  void onSetter(long nanos) {
+    totalSetterTime += nanos;
+    maxSetterTime = Math.max(maxSetterTime, nanos);
+  }
+
+  /**
+   * Reports the metrics to the listener. Only the first call has an effect.
+   */
+  void finish(boolean cancelled) {
+    if (finished) {
+      return;
+    }
+    finished = true;
+    this.cancelled = cancelled;
+    listener.onTweenMetrics(this);
+  }
+
+  @Override
+  public String toString() {
+    return "TweenMetrics{"
+      + "property=" + property.property.getName()
+      + ", startLatencyMillis=" + startLatency
+      + ", framesApplied=" + framesApplied
+      + ", skippedFrames=" + skippedFrames
+      + ", culledFrames=" + culledFrames
+      + ", throttledFrames=" + throttledFrames
+      + ", totalSetterTimeNanos=" + totalSetterTime
+      + ", maxSetterTimeNanos=" + maxSetterTime
+      + ", cancelled=" + cancelled
+      + '}';
+  }
+}
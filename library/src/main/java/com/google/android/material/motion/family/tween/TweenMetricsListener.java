@@ -0,0 +1,29 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+/**
+ * Receives the {@link TweenMetrics} of every tween once it finishes or is cancelled.
+ *
+ * @see TweenPerformer#setMetricsListener(TweenMetricsListener)
+ */
+public interface TweenMetricsListener {
+
+  /**
+   * Called on the tween's thread once the tween has finished or was cancelled.
+   */
+  void onTweenMetrics(TweenMetrics metrics);
+}
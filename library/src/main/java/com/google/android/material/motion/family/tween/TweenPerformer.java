@@ -17,22 +17,85 @@ package com.google.android.material.motion.family.tween;
 
 import android.animation.Animator;
 import android.animation.AnimatorListenerAdapter;
-import android.animation.Keyframe;
-import android.animation.ObjectAnimator;
-import android.animation.PropertyValuesHolder;
 import android.animation.TimeInterpolator;
+import android.animation.ValueAnimator;
+import android.animation.ValueAnimator.AnimatorUpdateListener;
+import android.os.SystemClock;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.View.OnAttachStateChangeListener;
+import android.view.animation.AnimationUtils;
+import android.view.animation.LinearInterpolator;
 
 import com.google.android.material.motion.runtime.Performer;
 import com.google.android.material.motion.runtime.PerformerFeatures.ContinuousPerforming;
 import com.google.android.material.motion.runtime.Plan;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
- * A {@link Performer} for object tween animations. Uses the {@link Animator} API to fulfil tweens.
+ * A {@link Performer} for object tween animations. Uses the {@link Animator} API to fulfil tweens,
+ * or a single frame callback shared by every tween if {@link #setSharedEngineEnabled(boolean)
+ * enabled}.
+ * <p>
+ * Only one tween runs per property of a target. A new tween cancels the running tween of the same
+ * property. If the new tween is a float tween with an implicit from value, it starts from the
+ * current value and carries over the velocity of the cancelled tween. {@link BaseTween#additive
+ * Additive} tweens of the same property run together instead, and their contributions are summed.
+ * <p>
+ * Tweens are bound to the lifecycle of their target. A tween of a view, or of a drawable drawn by
+ * a view, ends at its final value when the view is detached from its window, such as when its
+ * activity is destroyed. Running animators and the shared engine only reference tweens and their
+ * targets weakly, so they never keep a target alive.
  */
 public class TweenPerformer<T> extends Performer<T> implements ContinuousPerforming {
 
+  private static final TimeInterpolator LINEAR = new LinearInterpolator();
+  private static final long UNSET = -1;
+
+  static boolean sharedEngineEnabled;
+  @Nullable
+  static TweenMetricsListener metricsListener;
+  static volatile TweenPolicy policy = TweenPolicy.DEFAULT;
+
+  private final Map<TweenProperty<?, ?>, AnimatorTween> runningTweens = new HashMap<>();
+  /**
+   * The tokens of tweens run by the shared engine, which only references them weakly.
+   */
+  private final Set<EngineToken> engineTokens = new HashSet<>();
   private IsActiveTokenGenerator isActiveTokenGenerator;
 
+  /**
+   * Sets whether tweens added from now on are run by a single frame callback shared by all
+   * tweens on the thread, rather than by one {@link Animator} each. Disabled by default.
+   */
+  public static void setSharedEngineEnabled(boolean enabled) {
+    sharedEngineEnabled = enabled;
+  }
+
+  /**
+   * Sets the listener that receives the {@link TweenMetrics} of every tween added from now on, or
+   * null to stop recording metrics. No metrics are recorded by default.
+   */
+  public static void setMetricsListener(@Nullable TweenMetricsListener listener) {
+    metricsListener = listener;
+  }
+
+  /**
+   * Sets the policy that applies to every tween whose plan has no {@link BaseTween#policy} of its
+   * own. Running tweens follow the new policy from their next frame on.
+   */
+  public static void setPolicy(TweenPolicy policy) {
+    TweenPerformer.policy = policy;
+  }
+
   @Override
   public void setIsActiveTokenGenerator(IsActiveTokenGenerator isActiveTokenGenerator) {
     this.isActiveTokenGenerator = isActiveTokenGenerator;
@@ -40,91 +103,829 @@ public class TweenPerformer<T> extends Performer<T> implements ContinuousPerform
 
   @Override
   public void addPlan(Plan<T> plan) {
-    if (plan instanceof ObjectTween) {
-      addTween((ObjectTween<T, ?>) plan);
+    if (plan instanceof PreparedTween) {
+      addTween((PreparedTween<?>) plan);
+    } else if (plan instanceof BaseTween) {
+      addTween(new PreparedTween<>((BaseTween<T>) plan));
+    } else if (plan instanceof BroadcastTween) {
+      addBroadcastTween(((BroadcastTween<?>) plan).tween);
     } else {
       throw new IllegalArgumentException("Plan type not supported for " + plan);
     }
   }
 
-  private void addTween(ObjectTween<T, ?> plan) {
-    if (!validate(plan)) {
-      throw new IllegalArgumentException("Plan failed validation: " + plan);
+  private void addTween(PreparedTween<?> prepared) {
+    KeyframeTrack track = prepared.track;
+    boolean isFloat = track instanceof FloatKeyframeTrack;
+
+    // Retarget from the current value and velocity, unless the plan has an explicit from. Additive
+    // tweens take over from the running additive tweens instead, which keep running.
+    boolean additive = prepared.plan.additive;
+    float velocity = cancelTween(track.property, additive);
+    if (!isFloat || !track.implicitFrom || additive) {
+      velocity = 0f;
+    }
+
+    TweenMetrics metrics = createMetrics(track, prepared.plan);
+
+    // Only the shared engine can sum the contributions of additive tweens.
+    if (sharedEngineEnabled || additive) {
+      TweenEngine.getInstance().add(getTarget(), prepared, velocity, new EngineToken(), metrics);
+      return;
+    }
+
+    AnimatorTween tween;
+    if (isFloat) {
+      tween = new FloatAnimatorTween(prepared, metrics, velocity);
+    } else {
+      tween = new ObjectAnimatorTween(prepared, metrics);
+    }
+    start(tween);
+  }
+
+  private void addBroadcastTween(BaseTween<?> plan) {
+    PreparedTween<?> prepared = new PreparedTween<>(plan);
+    KeyframeTrack track = prepared.track;
+    if (plan.additive) {
+      throw new IllegalArgumentException("Broadcast tweens can not be additive: " + plan);
+    }
+    cancelTween(track.property, false);
+
+    TweenMetrics metrics = createMetrics(track, plan);
+    AnimatorTween tween;
+    if (track instanceof FloatKeyframeTrack) {
+      tween = new FloatBroadcastTween(prepared, metrics);
+    } else {
+      tween = new ObjectBroadcastTween(prepared, metrics);
+    }
+    start(tween);
+  }
+
+  @Nullable
+  private static TweenMetrics createMetrics(KeyframeTrack track, BaseTween<?> plan) {
+    if (metricsListener == null) {
+      return null;
+    }
+    long delay = TweenPolicy.resolve(plan.policy).scale(plan.delay, plan.essential);
+    delay = (long) (delay * TweenPolicy.getSystemDurationScale());
+    return new TweenMetrics(metricsListener, track.property, SystemClock.uptimeMillis(), delay);
+  }
+
+  /**
+   * Creates a linear unit animator. Tweens evaluate their track themselves, so that float values
+   * are never boxed. The animator repeats the plan's repetitions itself, so a repeating tween keeps
+   * one animator, one listener and one token for all of them.
+   */
+  private static ValueAnimator createAnimator(BaseTween<?> plan) {
+    TweenPolicy policy = TweenPolicy.resolve(plan.policy);
+    ValueAnimator animator = ValueAnimator.ofFloat(0f, 1f);
+    animator.setStartDelay(policy.scale(plan.delay, plan.essential));
+    animator.setDuration(policy.scale(plan.duration, plan.essential));
+    animator.setInterpolator(LINEAR);
+    animator.setRepeatCount(plan.repeatCount);
+    animator.setRepeatMode(plan.repeatMode);
+    return animator;
+  }
+
+  private void start(AnimatorTween tween) {
+    WeakAnimatorListener<AnimatorTween> listener = new WeakAnimatorListener<>(tween);
+    tween.animator.addListener(listener);
+    tween.animator.addUpdateListener(listener);
+    runningTweens.put(tween.track.property, tween);
+    tween.bindLifecycle();
+    tween.animator.start();
+    TweenWarmup.onAnimatorStarted(tween.animator);
+  }
+
+  /**
+   * Cancels the running tweens of the given property on the target that a new tween replaces. A
+   * new additive tween only replaces tweens that are not additive.
+   *
+   * @return The velocity of the cancelled tween in units per millisecond, or 0 if it is unknown.
+   */
+  private float cancelTween(TweenProperty<?, ?> property, boolean additive) {
+    float velocity = 0f;
+
+    AnimatorTween tween = runningTweens.remove(property);
+    if (tween != null) {
+      velocity += tween.cancel();
+    }
+
+    TweenEngine engine = TweenEngine.peekInstance();
+    if (engine != null) {
+      velocity += engine.cancel(getTarget(), property, additive);
+    }
+
+    return velocity;
+  }
+
+  /**
+   * Forwards the events of an animator to a tween that it only references weakly, so that a
+   * running animator does not retain the tween, its performer or its target. Once the tween has
+   * been collected, the animator is cancelled on its next frame.
+   */
+  private static final class WeakAnimatorListener<
+    L extends AnimatorListenerAdapter & AnimatorUpdateListener>
+    extends AnimatorListenerAdapter implements AnimatorUpdateListener {
+
+    private final WeakReference<L> listener;
+
+    private WeakAnimatorListener(L listener) {
+      this.listener = new WeakReference<>(listener);
+    }
+
+    @Override
+    public void onAnimationStart(Animator animation) {
+      L listener = this.listener.get();
+      if (listener != null) {
+        listener.onAnimationStart(animation);
+      }
+    }
+
+    @Override
+    public void onAnimationCancel(Animator animation) {
+      L listener = this.listener.get();
+      if (listener != null) {
+        listener.onAnimationCancel(animation);
+      }
+    }
+
+    @Override
+    public void onAnimationRepeat(Animator animation) {
+      L listener = this.listener.get();
+      if (listener != null) {
+        listener.onAnimationRepeat(animation);
+      }
+    }
+
+    @Override
+    public void onAnimationEnd(Animator animation) {
+      L listener = this.listener.get();
+      if (listener != null) {
+        listener.onAnimationEnd(animation);
+      }
+    }
+
+    @Override
+    public void onAnimationUpdate(ValueAnimator animation) {
+      L listener = this.listener.get();
+      if (listener != null) {
+        listener.onAnimationUpdate(animation);
+      } else {
+        animation.cancel();
+      }
+    }
+  }
+
+  /**
+   * The token of a tween run by the shared engine. The performer keeps it reachable until it is
+   * terminated, so that the engine can reference it weakly.
+   */
+  private class EngineToken implements IsActiveToken {
+
+    private final IsActiveToken token = isActiveTokenGenerator.generate();
+
+    private EngineToken() {
+      engineTokens.add(this);
     }
 
-    ObjectAnimator animator =
-      ObjectAnimator.ofPropertyValuesHolder(getTarget(), createPropertyValuesHolder(plan));
-    animator.setStartDelay(plan.delay);
-    animator.setDuration(plan.duration);
-    if (plan.timingFunction != null) {
-      animator.setInterpolator(plan.timingFunction);
+    @Override
+    public void terminate() {
+      engineTokens.remove(this);
+      token.terminate();
     }
-    animator.setEvaluator(plan.property.evaluator);
+  }
+
+  /**
+   * A tween fulfilled by an {@link Animator} that applies a {@link KeyframeTrack} to the target on
+   * every animation frame.
+   * <p>
+   * A tween of a view, or of a drawable drawn by a view, ends at its final value when the view is
+   * detached from its window, such as when its activity is destroyed.
+   */
+  private abstract class AnimatorTween extends AnimatorListenerAdapter
+    implements AnimatorUpdateListener, OnAttachStateChangeListener {
 
-    animator.addListener(
-      new AnimatorListenerAdapter() {
+    protected final ValueAnimator animator;
+    protected final T target;
+    protected final TimeInterpolator timingFunction;
+    @Nullable
+    protected final BakedTrack baked;
+    @Nullable
+    protected final TweenMetrics metrics;
+    /**
+     * Whether to skip frames while the target is not visible.
+     */
+    protected final boolean culled;
+    private final KeyframeTrack track;
+    private final boolean essential;
+    @Nullable
+    private final TweenPolicy policy;
+    private final boolean reverses;
+    /**
+     * The linear fraction of the last frame, after every repetition.
+     */
+    protected final float endFraction;
 
-        private IsActiveToken token;
+    private IsActiveToken token;
+    /**
+     * Whether the current repetition plays backwards.
+     */
+    protected boolean reversed;
+    private boolean fromRead;
+    private boolean cancelled;
+    private long frameTime = UNSET;
+    private long appliedTime = UNSET;
+
+    private AnimatorTween(PreparedTween<?> prepared, @Nullable TweenMetrics metrics) {
+      BaseTween<?> plan = prepared.plan;
+      this.animator = createAnimator(plan);
+      this.target = getTarget();
+      this.track = prepared.track;
+      this.timingFunction = prepared.timingFunction;
+      this.baked = prepared.baked;
+      this.metrics = metrics;
+      this.culled = plan.cullWhenInvisible;
+      this.essential = plan.essential;
+      this.policy = plan.policy;
+      this.reverses = plan.repeatMode == BaseTween.REVERSE;
+      this.endFraction = plan.getEndFraction();
+    }
 
-        @Override
-        public void onAnimationStart(Animator animation) {
-          token = isActiveTokenGenerator.generate();
+    @Override
+    public void onAnimationStart(Animator animation) {
+      token = isActiveTokenGenerator.generate();
+    }
+
+    @Override
+    public void onAnimationCancel(Animator animation) {
+      cancelled = true;
+    }
+
+    @Override
+    public void onAnimationRepeat(Animator animation) {
+      if (reverses) {
+        reversed = !reversed;
+      }
+      onRepeat();
+    }
+
+    @Override
+    public void onAnimationEnd(Animator animation) {
+      if (runningTweens.get(track.property) == this) {
+        runningTweens.remove(track.property);
+      }
+      if (appliedTime != UNSET) {
+        storeValue(!cancelled);
+      }
+      unbindLifecycle();
+      // A tween that is cancelled during its start delay never generated a token.
+      if (token != null) {
+        token.terminate();
+      }
+      if (metrics != null) {
+        metrics.finish(cancelled);
+      }
+    }
+
+    @Override
+    public final void onAnimationUpdate(ValueAnimator animation) {
+      // Animators may apply their first frame before notifying start listeners.
+      if (!fromRead) {
+        fromRead = true;
+        if (track.implicitFrom) {
+          readFrom();
         }
+      }
+
+      float fraction = animation.getAnimatedFraction();
+      TweenPolicy policy = TweenPolicy.resolve(this.policy);
+      // A frame at the end fraction may be the last one, which is always applied.
+      boolean last = fraction == endFraction;
+      if (!last && policy.skips(essential)) {
+        // Ending the animator applies its final frame.
+        animator.end();
+        return;
+      }
 
-        @Override
-        public void onAnimationEnd(Animator animation) {
-          token.terminate();
+      // The time of the frame that the animator is running on, where the platform provides it.
+      long frameTime = AnimationUtils.currentAnimationTimeMillis();
+      long frameInterval = this.frameTime != UNSET ? Math.max(0, frameTime - this.frameTime) : 0;
+      this.frameTime = frameTime;
+      if (!last
+        && appliedTime != UNSET
+        && policy.throttles(frameTime - appliedTime, frameInterval)) {
+        if (metrics != null) {
+          metrics.onThrottledFrame(frameTime);
         }
-      });
-    animator.start();
+        return;
+      }
+      if (culled && !last && !TweenCulling.isVisible(target)) {
+        if (metrics != null) {
+          metrics.onCulledFrame(frameTime);
+        }
+        return;
+      }
+
+      appliedTime = frameTime;
+      if (metrics != null) {
+        metrics.onFrame(frameTime);
+      }
+      apply(fraction);
+    }
+
+    /**
+     * Ends the tween when the view of its target is detached from its window.
+     */
+    void bindLifecycle() {
+      View view = TweenLifecycle.getView(target);
+      if (view != null) {
+        view.addOnAttachStateChangeListener(this);
+      }
+    }
+
+    void unbindLifecycle() {
+      View view = TweenLifecycle.getView(target);
+      if (view != null) {
+        view.removeOnAttachStateChangeListener(this);
+      }
+    }
+
+    @Override
+    public void onViewAttachedToWindow(View view) {
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(View view) {
+      // Ending the animator applies its final frame.
+      animator.end();
+    }
+
+    /**
+     * Cancels the tween.
+     *
+     * @return The velocity of the tween in units per millisecond, or 0 if it is unknown.
+     */
+    float cancel() {
+      float velocity = getVelocity();
+      animator.cancel();
+      return velocity;
+    }
+
+    /**
+     * Reads the implicit from value of the track from the target.
+     */
+    abstract void readFrom();
+
+    /**
+     * Applies the value of the track at the given linear fraction to the target.
+     */
+    abstract void apply(float linearFraction);
+
+    /**
+     * Records the last applied value in the {@link TweenValueStore}.
+     *
+     * @param settled Whether the tween ran to its end, as opposed to being interrupted.
+     */
+    void storeValue(boolean settled) {
+    }
+
+    /**
+     * Called when the tween starts a repetition.
+     */
+    void onRepeat() {
+    }
+
+    float getVelocity() {
+      return 0f;
+    }
   }
 
-  private boolean validate(ObjectTween<T, ?> plan) {
-    if (plan.values.length == 0) {
-      return false;
+  /**
+   * Applies a {@link FloatKeyframeTrack} without boxing.
+   */
+  private class FloatAnimatorTween extends AnimatorTween {
+
+    private final FloatKeyframeTrack track;
+    private final FloatTweenProperty<? super T> property;
+    private float initialVelocity;
+
+    private float from;
+    private float value;
+
+    private FloatAnimatorTween(
+      PreparedTween<?> prepared, @Nullable TweenMetrics metrics, float initialVelocity) {
+      super(prepared, metrics);
+      this.track = (FloatKeyframeTrack) prepared.track;
+      this.property = (FloatTweenProperty<? super T>) track.property;
+      this.initialVelocity = initialVelocity;
+    }
+
+    @Override
+    void readFrom() {
+      from = TweenValueStore.readFloat(target, track);
+      initialVelocity = track.getHandOffVelocity(
+        initialVelocity, timingFunction, animator.getDuration(), from);
+    }
+
+    @Override
+    void apply(float linearFraction) {
+      value = getValue(linearFraction);
+      if (metrics == null) {
+        property.setValue(target, value);
+        return;
+      }
+
+      long setterStart = System.nanoTime();
+      property.setValue(target, value);
+      metrics.onSetter(System.nanoTime() - setterStart);
+    }
+
+    @Override
+    void storeValue(boolean settled) {
+      TweenValueStore.putFloat(target, property, value, settled);
     }
 
-    if (plan.offsets != null && plan.offsets.length != plan.values.length) {
-      return false;
+    @Override
+    void onRepeat() {
+      // The carried over velocity only decays over the first repetition.
+      initialVelocity = 0f;
     }
 
-    if (plan.interTimingFunctions != null
-      && plan.interTimingFunctions.length != plan.values.length - 1) {
-      return false;
+    @Override
+    float getVelocity() {
+      long duration = animator.getDuration();
+      if (!animator.isRunning() || duration == 0) {
+        return 0f;
+      }
+      float fraction = animator.getAnimatedFraction();
+      float step = reversed ? -1f / duration : 1f / duration;
+      return getValue(fraction) - getValue(fraction - step);
     }
 
-    return true;
+    private float getValue(float linearFraction) {
+      long duration = animator.getDuration();
+      if (baked != null) {
+        return baked.getFloatValue(linearFraction, from)
+          + FloatKeyframeTrack.getVelocityOffset(linearFraction, duration, initialVelocity);
+      }
+      return track.getValue(linearFraction, timingFunction, duration, from, initialVelocity);
+    }
   }
 
-  private PropertyValuesHolder createPropertyValuesHolder(ObjectTween<T, ?> plan) {
-    // Create keyframes.
-    Keyframe[] keyframes;
-    if (plan.values.length == 1) {
-      keyframes = new Keyframe[2];
+  /**
+   * Applies an {@link ObjectKeyframeTrack} through the property's {@link android.util.Property}.
+   */
+  private class ObjectAnimatorTween extends AnimatorTween {
 
-      keyframes[0] = Keyframe.ofObject(0f);
-      keyframes[1] = Keyframe.ofObject(1f, plan.values[0]);
-    } else {
-      keyframes = new Keyframe[plan.values.length];
+    private final ObjectKeyframeTrack<Object> track;
+    private final TweenProperty<? super T, Object> property;
+
+    /**
+     * The value that the track is interpolated into, or null if it allocates new values.
+     */
+    @Nullable
+    private final Object out;
+
+    private Object from;
+    private Object value;
+
+    private ObjectAnimatorTween(PreparedTween<?> prepared, @Nullable TweenMetrics metrics) {
+      super(prepared, metrics);
+      this.track = (ObjectKeyframeTrack<Object>) prepared.track;
+      this.property = (TweenProperty<? super T, Object>) track.property;
+      this.out = baked == null ? track.createValue() : null;
+    }
+
+    @Override
+    void readFrom() {
+      from = TweenValueStore.read(target, track);
+    }
+
+    @Override
+    void apply(float linearFraction) {
+      if (baked != null) {
+        value = baked.getValue(linearFraction);
+      } else {
+        value = track.getValue(timingFunction.getInterpolation(linearFraction), from, out);
+      }
+      if (metrics == null) {
+        property.property.set(target, value);
+        return;
+      }
+
+      long setterStart = System.nanoTime();
+      property.property.set(target, value);
+      metrics.onSetter(System.nanoTime() - setterStart);
+    }
+
+    @Override
+    void storeValue(boolean settled) {
+      TweenValueStore.put(target, property, value, settled);
+    }
+  }
+
+  /**
+   * A tween of every target of a {@link TweenBroadcast}.
+   * <p>
+   * The tween binds the view of each target, rather than the broadcast, to its lifecycle. When a
+   * view is detached from its window, its targets receive their final value and are skipped until
+   * the view is attached again. The other targets keep running.
+   */
+  private abstract class BroadcastAnimatorTween extends AnimatorTween
+    implements TweenBroadcast.Listener<Object> {
+
+    protected final TweenBroadcast<Object> broadcast;
+    /**
+     * The views of targets that were detached from their window while the tween ran.
+     */
+    private final List<View> detachedViews = new ArrayList<>();
+
+    private BroadcastAnimatorTween(PreparedTween<?> prepared, @Nullable TweenMetrics metrics) {
+      super(prepared, metrics);
+      this.broadcast = (TweenBroadcast<Object>) target;
+    }
+
+    @Override
+    void bindLifecycle() {
+      broadcast.addListener(this);
+      for (int i = 0, count = broadcast.size(); i < count; i++) {
+        bindView(broadcast.get(i));
+      }
+    }
 
-      for (int i = 0, count = plan.values.length; i < count; i++) {
-        Object value = plan.values[i];
-        float offset = plan.offsets != null ? plan.offsets[i] : 0f;
-        TimeInterpolator interTimingFunction = plan.interTimingFunctions != null && i > 0
-          ? plan.interTimingFunctions[i - 1] : null;
+    @Override
+    void unbindLifecycle() {
+      broadcast.removeListener(this);
+      for (int i = 0, count = broadcast.size(); i < count; i++) {
+        unbindView(broadcast.get(i));
+      }
+    }
 
-        keyframes[i] = Keyframe.ofObject(offset, value);
-        keyframes[i].setInterpolator(interTimingFunction);
+    /**
+     * Binds the view of the target. Targets that share a view bind it once each, so that removing
+     * one of them keeps the others bound.
+     */
+    private void bindView(Object target) {
+      View view = TweenLifecycle.getView(target);
+      if (view != null) {
+        view.addOnAttachStateChangeListener(this);
       }
     }
 
-    // Space keyframes dynamically.
-    if (plan.offsets == null) {
-      for (int i = 0, count = keyframes.length; i < count; i++) {
-        keyframes[i].setFraction((float) i / count - 1);
+    private void unbindView(Object target) {
+      View view = TweenLifecycle.getView(target);
+      if (view != null) {
+        view.removeOnAttachStateChangeListener(this);
       }
     }
 
-    return PropertyValuesHolder.ofKeyframe(plan.property.property, keyframes);
+    @Override
+    public final void onTargetAdded(Object target) {
+      bindView(target);
+      onTargetAdded(broadcast.size() - 1, target);
+    }
+
+    @Override
+    public final void onTargetRemoved(int index, Object target) {
+      unbindView(target);
+      onTargetRemoved(index);
+    }
+
+    /**
+     * Called after the target was added to the broadcast at the given index.
+     */
+    abstract void onTargetAdded(int index, Object target);
+
+    /**
+     * Called after the target at the given index was removed from the broadcast.
+     */
+    abstract void onTargetRemoved(int index);
+
+    @Override
+    public void onViewAttachedToWindow(View view) {
+      detachedViews.remove(view);
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(View view) {
+      // Targets that share the view notify the tween once each.
+      if (detachedViews.contains(view)) {
+        return;
+      }
+      detachedViews.add(view);
+      for (int i = 0, count = broadcast.size(); i < count; i++) {
+        if (TweenLifecycle.getView(broadcast.get(i)) == view) {
+          applyFinal(i);
+        }
+      }
+    }
+
+    /**
+     * Returns whether the view of the target is detached from its window.
+     */
+    protected boolean isDetached(Object target) {
+      return !detachedViews.isEmpty() && detachedViews.contains(TweenLifecycle.getView(target));
+    }
+
+    /**
+     * Applies the final value of the tween to the target at the given index.
+     */
+    abstract void applyFinal(int index);
+  }
+
+  /**
+   * Evaluates a {@link FloatKeyframeTrack} once per frame and writes the value to every target of a
+   * {@link TweenBroadcast}.
+   * <p>
+   * The value of a float track is linear in its from value. With an implicit from, the track is
+   * evaluated for from values of 0 and 1 once per frame, and each target's value is derived from
+   * its own from value.
+   */
+  private class FloatBroadcastTween extends BroadcastAnimatorTween {
+
+    private final FloatKeyframeTrack track;
+    private final FloatTweenProperty<Object> property;
+
+    /**
+     * The from values of the targets, or null until they are read.
+     */
+    @Nullable
+    private float[] froms;
+
+    private FloatBroadcastTween(PreparedTween<?> prepared, @Nullable TweenMetrics metrics) {
+      super(prepared, metrics);
+      this.track = (FloatKeyframeTrack) prepared.track;
+      this.property = (FloatTweenProperty<Object>) track.property;
+    }
+
+    @Override
+    void readFrom() {
+      int count = broadcast.size();
+      froms = new float[Math.max(count, 4)];
+      for (int i = 0; i < count; i++) {
+        froms[i] = TweenValueStore.readFloat(broadcast.get(i), track);
+      }
+    }
+
+    @Override
+    void onTargetAdded(int index, Object target) {
+      if (froms == null) {
+        return;
+      }
+      if (index == froms.length) {
+        froms = Arrays.copyOf(froms, index * 2);
+      }
+      froms[index] = TweenValueStore.readFloat(target, track);
+    }
+
+    @Override
+    void onTargetRemoved(int index) {
+      if (froms != null) {
+        System.arraycopy(froms, index + 1, froms, index, broadcast.size() - index);
+      }
+    }
+
+    @Override
+    void apply(float linearFraction) {
+      float constant = getValue(linearFraction, 0f);
+      float fromWeight = track.implicitFrom ? getValue(linearFraction, 1f) - constant : 0f;
+
+      // A frame at the end fraction may be the last one, which is always applied.
+      boolean cull = culled && linearFraction != endFraction;
+      long setterStart = metrics != null ? System.nanoTime() : 0;
+      for (int i = 0, count = broadcast.size(); i < count; i++) {
+        Object target = broadcast.get(i);
+        if (isDetached(target) || cull && !TweenCulling.isVisible(target)) {
+          continue;
+        }
+        float value = fromWeight == 0f ? constant : constant + fromWeight * froms[i];
+        property.setValue(target, value);
+      }
+      if (metrics != null) {
+        metrics.onSetter(System.nanoTime() - setterStart);
+      }
+    }
+
+    @Override
+    void applyFinal(int index) {
+      Object target = broadcast.get(index);
+      float from = 0f;
+      if (track.implicitFrom) {
+        from = froms != null ? froms[index] : TweenValueStore.readFloat(target, track);
+      }
+      property.setValue(target, getValue(endFraction, from));
+    }
+
+    private float getValue(float linearFraction, float from) {
+      if (baked != null) {
+        return baked.getFloatValue(linearFraction, from);
+      }
+      return track.getValue(linearFraction, timingFunction, animator.getDuration(), from, 0f);
+    }
+  }
+
+  /**
+   * Evaluates an {@link ObjectKeyframeTrack} once per frame and writes the value to every target of
+   * a {@link TweenBroadcast}.
+   * <p>
+   * Object values are not linear in general, so with an implicit from the track is evaluated once
+   * per target.
+   */
+  private class ObjectBroadcastTween extends BroadcastAnimatorTween {
+
+    private final ObjectKeyframeTrack<Object> track;
+    private final TweenProperty<Object, Object> property;
+
+    /**
+     * The value that the track is interpolated into for every target, or null if it allocates new
+     * values.
+     */
+    @Nullable
+    private final Object out;
+
+    /**
+     * The from values of the targets, or null until they are read.
+     */
+    @Nullable
+    private Object[] froms;
+
+    private ObjectBroadcastTween(PreparedTween<?> prepared, @Nullable TweenMetrics metrics) {
+      super(prepared, metrics);
+      this.track = (ObjectKeyframeTrack<Object>) prepared.track;
+      this.property = (TweenProperty<Object, Object>) track.property;
+      this.out = baked == null ? track.createValue() : null;
+    }
+
+    @Override
+    void readFrom() {
+      int count = broadcast.size();
+      froms = new Object[Math.max(count, 4)];
+      for (int i = 0; i < count; i++) {
+        froms[i] = TweenValueStore.read(broadcast.get(i), track);
+      }
+    }
+
+    @Override
+    void onTargetAdded(int index, Object target) {
+      if (froms == null) {
+        return;
+      }
+      if (index == froms.length) {
+        froms = Arrays.copyOf(froms, index * 2);
+      }
+      froms[index] = TweenValueStore.read(target, track);
+    }
+
+    @Override
+    void onTargetRemoved(int index) {
+      if (froms == null) {
+        return;
+      }
+      int count = broadcast.size();
+      System.arraycopy(froms, index + 1, froms, index, count - index);
+      froms[count] = null;
+    }
+
+    @Override
+    void apply(float linearFraction) {
+      float fraction = timingFunction.getInterpolation(linearFraction);
+      Object value = null;
+      if (!track.implicitFrom) {
+        value = baked != null
+          ? baked.getValue(linearFraction)
+          : track.getValue(fraction, null, out);
+      }
+
+      // A frame at the end fraction may be the last one, which is always applied.
+      boolean cull = culled && linearFraction != endFraction;
+      long setterStart = metrics != null ? System.nanoTime() : 0;
+      for (int i = 0, count = broadcast.size(); i < count; i++) {
+        Object target = broadcast.get(i);
+        if (isDetached(target) || cull && !TweenCulling.isVisible(target)) {
+          continue;
+        }
+        Object targetValue =
+          track.implicitFrom ? track.getValue(fraction, froms[i], out) : value;
+        property.property.set(target, targetValue);
+      }
+      if (metrics != null) {
+        metrics.onSetter(System.nanoTime() - setterStart);
+      }
+    }
+
+    @Override
+    void applyFinal(int index) {
+      Object target = broadcast.get(index);
+      float fraction = timingFunction.getInterpolation(endFraction);
+      Object value;
+      if (track.implicitFrom) {
+        Object from = froms != null ? froms[index] : TweenValueStore.read(target, track);
+        value = track.getValue(fraction, from, out);
+      } else {
+        value = baked != null ? baked.getValue(endFraction) : track.getValue(fraction, null, out);
+      }
+      property.property.set(target, value);
+    }
   }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.ValueAnimator;
+import android.support.annotation.Nullable;
+
+import java.lang.reflect.Method;
+
+/**
+ * How much work tweens may do, for example while the device saves power or is thermally
+ * throttled.
+ * <p>
+ * One policy applies to every tween in the process, see
+ * {@link TweenPerformer#setPolicy(TweenPolicy)}. A plan may override it with its own
+ * {@link BaseTween#policy}. Running tweens follow policy changes from their next frame on, except
+ * for the duration scale, which applies to tweens added after the change.
+ * <p>
+ * Like animators, tweens are also scaled by the system animator duration scale of the developer
+ * options, which is read when a tween starts. A system scale of 0 jumps tweens to their end
+ * values.
+ */
+public final class TweenPolicy {
+
+  /**
+   * Runs every tween as specified.
+   */
+  public static final TweenPolicy DEFAULT = new TweenPolicy(1f, 0, false);
+
+  /**
+   * Caps updates at 30 frames per second and jumps non-essential tweens to their end values.
+   */
+  public static final TweenPolicy POWER_SAVING = new TweenPolicy(1f, 30, true);
+
+  /**
+   * The factor that durations and delays are scaled by.
+   */
+  public final float durationScale;
+  /**
+   * The maximum number of frames per second to apply, or 0 for no maximum.
+   */
+  public final int maxFrameRate;
+  /**
+   * Whether tweens whose plan is not {@link BaseTween#essential} jump to their end values.
+   */
+  public final boolean skipNonEssential;
+
+  /**
+   * The interval between frames at the {@link #maxFrameRate}, in milliseconds.
+   */
+  private final float maxFrameRateInterval;
+
+  private static Method getDurationScale;
+  private static boolean getDurationScaleResolved;
+
+  /**
+   * @param durationScale The factor that durations and delays are scaled by.
+   * @param maxFrameRate The maximum number of frames per second to apply, or 0 for no maximum.
+   * @param skipNonEssential Whether non-essential tweens jump to their end values.
+   */
+  public TweenPolicy(float durationScale, int maxFrameRate, boolean skipNonEssential) {
+    if (durationScale < 0f || maxFrameRate < 0) {
+      throw new IllegalArgumentException(
+        "Invalid policy: durationScale=" + durationScale + ", maxFrameRate=" + maxFrameRate);
+    }
+    this.durationScale = durationScale;
+    this.maxFrameRate = maxFrameRate;
+    this.skipNonEssential = skipNonEssential;
+    this.maxFrameRateInterval = maxFrameRate > 0 ? 1000f / maxFrameRate : 0f;
+  }
+
+  /**
+   * Returns the policy that applies to the given plan override.
+   */
+  static TweenPolicy resolve(@Nullable TweenPolicy override) {
+    return override != null ? override : TweenPerformer.policy;
+  }
+
+  /**
+   * Returns whether a tween of a plan with the given essential flag jumps to its end values.
+   */
+  boolean skips(boolean essential) {
+    return skipNonEssential && !essential;
+  }
+
+  /**
+   * Returns the system animator duration scale that {@link ValueAnimator} applies to the durations
+   * and delays of animators when they start, or 1 if it cannot be read.
+   */
+  static float getSystemDurationScale() {
+    if (!getDurationScaleResolved) {
+      getDurationScaleResolved = true;
+      try {
+        // Hidden API, which the window manager sets from the developer options.
+        getDurationScale = ValueAnimator.class.getMethod("getDurationScale");
+      } catch (NoSuchMethodException e) {
+        getDurationScale = null;
+      }
+    }
+    if (getDurationScale == null) {
+      return 1f;
+    }
+    try {
+      return (Float) getDurationScale.invoke(null);
+    } catch (Exception e) {
+      return 1f;
+    }
+  }
+
+  /**
+   * Returns the given duration or delay of a plan, scaled by this policy.
+   */
+  long scale(long duration, boolean essential) {
+    if (skips(essential)) {
+      return 0;
+    }
+    return durationScale == 1f ? duration : (long) (duration * durationScale);
+  }
+
+  /**
+   * Returns whether a frame should be skipped to honor the {@link #maxFrameRate}.
+   *
+   * @param sinceAppliedFrame The time from the last applied frame to this frame, in milliseconds.
+   * @param frameInterval The time from the previous frame to this frame, in milliseconds.
+   */
+  boolean throttles(long sinceAppliedFrame, long frameInterval) {
+    // Allow for frame times that jitter by up to half a display frame, so that a 30Hz cap applies
+    // every other frame on a 60Hz display and every fourth frame on a 120Hz display.
+    return sinceAppliedFrame < maxFrameRateInterval - frameInterval / 2f;
+  }
+}
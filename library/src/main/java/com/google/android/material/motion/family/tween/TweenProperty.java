@@ -18,7 +18,10 @@ package com.google.android.material.motion.family.tween;
 import android.animation.ArgbEvaluator;
 import android.animation.FloatEvaluator;
 import android.animation.TypeEvaluator;
+import android.graphics.PointF;
 import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.Nullable;
 import android.util.Property;
 import android.view.View;
 
@@ -27,90 +30,266 @@ import android.view.View;
  */
 public class TweenProperty<T, V> {
 
-  private static final TypeEvaluator<Number> NO_OP = new FloatEvaluator();
-
-  public static final TweenProperty<View, Float> ALPHA =
-    new TweenProperty<>(View.ALPHA, NO_OP);
-  public static final TweenProperty<View, Float> TRANSLATION_X =
-    new TweenProperty<>(View.TRANSLATION_X, NO_OP);
-  public static final TweenProperty<View, Float> TRANSLATION_Y =
-    new TweenProperty<>(View.TRANSLATION_Y, NO_OP);
-  public static final TweenProperty<View, Float> TRANSLATION_Z =
-    new TweenProperty<>(View.TRANSLATION_Z, NO_OP);
-  public static final TweenProperty<View, Float> X =
-    new TweenProperty<>(View.X, NO_OP);
-  public static final TweenProperty<View, Float> Y =
-    new TweenProperty<>(View.Y, NO_OP);
-  public static final TweenProperty<View, Float> Z =
-    new TweenProperty<>(View.Z, NO_OP);
-  public static final TweenProperty<View, Float> ROTATION =
-    new TweenProperty<>(View.ROTATION, NO_OP);
-  public static final TweenProperty<View, Float> ROTATION_X =
-    new TweenProperty<>(View.ROTATION_X, NO_OP);
-  public static final TweenProperty<View, Float> ROTATION_Y =
-    new TweenProperty<>(View.ROTATION_Y, NO_OP);
-  public static final TweenProperty<View, Float> SCALE_X =
-    new TweenProperty<>(View.SCALE_X, NO_OP);
-  public static final TweenProperty<View, Float> SCALE_Y =
-    new TweenProperty<>(View.SCALE_Y, NO_OP);
-  public static final TweenProperty<View, Float> SCALE =
-    new TweenProperty<>(new CombinedProperty<>(View.SCALE_X, View.SCALE_Y), NO_OP);
+  static final TypeEvaluator<Number> NO_OP = new FloatEvaluator();
+
+  public static final FloatTweenProperty<View> ALPHA =
+    new FloatTweenProperty<View>("alpha") {
+      @Override
+      public void setValue(View object, float value) {
+        object.setAlpha(value);
+      }
+
+      @Override
+      public float getValue(View object) {
+        return object.getAlpha();
+      }
+    };
+  public static final FloatTweenProperty<View> TRANSLATION_X =
+    new FloatTweenProperty<View>("translationX") {
+      @Override
+      public void setValue(View object, float value) {
+        object.setTranslationX(value);
+      }
+
+      @Override
+      public float getValue(View object) {
+        return object.getTranslationX();
+      }
+    };
+  public static final FloatTweenProperty<View> TRANSLATION_Y =
+    new FloatTweenProperty<View>("translationY") {
+      @Override
+      public void setValue(View object, float value) {
+        object.setTranslationY(value);
+      }
+
+      @Override
+      public float getValue(View object) {
+        return object.getTranslationY();
+      }
+    };
+  public static final FloatTweenProperty<View> TRANSLATION_Z =
+    new FloatTweenProperty<View>("translationZ") {
+      @Override
+      public void setValue(View object, float value) {
+        object.setTranslationZ(value);
+      }
+
+      @Override
+      public float getValue(View object) {
+        return object.getTranslationZ();
+      }
+    };
+  public static final FloatTweenProperty<View> X =
+    new FloatTweenProperty<View>("x") {
+      @Override
+      public void setValue(View object, float value) {
+        object.setX(value);
+      }
+
+      @Override
+      public float getValue(View object) {
+        return object.getX();
+      }
+    };
+  public static final FloatTweenProperty<View> Y =
+    new FloatTweenProperty<View>("y") {
+      @Override
+      public void setValue(View object, float value) {
+        object.setY(value);
+      }
+
+      @Override
+      public float getValue(View object) {
+        return object.getY();
+      }
+    };
+  public static final FloatTweenProperty<View> Z =
+    new FloatTweenProperty<View>("z") {
+      @Override
+      public void setValue(View object, float value) {
+        object.setZ(value);
+      }
+
+      @Override
+      public float getValue(View object) {
+        return object.getZ();
+      }
+    };
+  public static final FloatTweenProperty<View> ROTATION =
+    new FloatTweenProperty<View>("rotation") {
+      @Override
+      public void setValue(View object, float value) {
+        object.setRotation(value);
+      }
+
+      @Override
+      public float getValue(View object) {
+        return object.getRotation();
+      }
+    };
+  public static final FloatTweenProperty<View> ROTATION_X =
+    new FloatTweenProperty<View>("rotationX") {
+      @Override
+      public void setValue(View object, float value) {
+        object.setRotationX(value);
+      }
+
+      @Override
+      public float getValue(View object) {
+        return object.getRotationX();
+      }
+    };
+  public static final FloatTweenProperty<View> ROTATION_Y =
+    new FloatTweenProperty<View>("rotationY") {
+      @Override
+      public void setValue(View object, float value) {
+        object.setRotationY(value);
+      }
+
+      @Override
+      public float getValue(View object) {
+        return object.getRotationY();
+      }
+    };
+  public static final FloatTweenProperty<View> SCALE_X =
+    new FloatTweenProperty<View>("scaleX") {
+      @Override
+      public void setValue(View object, float value) {
+        object.setScaleX(value);
+      }
+
+      @Override
+      public float getValue(View object) {
+        return object.getScaleX();
+      }
+    };
+  public static final FloatTweenProperty<View> SCALE_Y =
+    new FloatTweenProperty<View>("scaleY") {
+      @Override
+      public void setValue(View object, float value) {
+        object.setScaleY(value);
+      }
+
+      @Override
+      public float getValue(View object) {
+        return object.getScaleY();
+      }
+    };
+  public static final FloatTweenProperty<View> SCALE =
+    new FloatTweenProperty<View>("scale") {
+      @Override
+      public void setValue(View object, float value) {
+        object.setScaleX(value);
+        object.setScaleY(value);
+      }
+
+      @Override
+      public float getValue(View object) {
+        return object.getScaleX();
+      }
+    };
+  /**
+   * A view's translation as a point. Animate it along a path with {@link PathTween}.
+   */
+  public static final TweenProperty<View, PointF> TRANSLATION =
+    new TweenProperty<>(new TranslationProperty(), InPlaceEvaluators.POINT_F);
   public static final TweenProperty<View, Integer> BACKGROUND_COLOR =
     new TweenProperty<>(new BackgroundColorProperty(), new ArgbEvaluator());
+  /**
+   * A view's translation, scale and rotation, interpolated together and applied in one pass.
+   */
+  public static final TweenProperty<View, ViewTransform> TRANSFORM =
+    new TweenProperty<>(new TransformProperty(), ViewTransform.EVALUATOR);
 
   final TypeEvaluator<? super V> evaluator;
+  /**
+   * Interpolates values into an output value owned by each running tween, or null if values are
+   * interpolated with {@link #evaluator}.
+   */
+  @Nullable final InPlaceEvaluator<V> inPlaceEvaluator;
   final Property<T, V> property;
 
   public TweenProperty(Property<T, V> property, TypeEvaluator<? super V> evaluator) {
     this.property = property;
     this.evaluator = evaluator;
+    this.inPlaceEvaluator = null;
   }
 
   /**
-   * A utility class to treat multiple properties as one.
+   * Creates a property of mutable values that running tweens interpolate without allocating a new
+   * value on every frame. Each running tween passes its own output value to the setter on every
+   * frame, so the setter must copy the value if it keeps it.
    */
-  private static class CombinedProperty<T, V> extends Property<T, V> {
+  public TweenProperty(Property<T, V> property, InPlaceEvaluator<V> evaluator) {
+    this.property = property;
+    this.evaluator = InPlaceEvaluators.allocating(evaluator);
+    this.inPlaceEvaluator = evaluator;
+  }
 
-    private final Property<T, V>[] properties;
+  /**
+   * A Property for a view's background color. Its value is null if the background is not a color.
+   */
+  private static class BackgroundColorProperty extends Property<View, Integer> {
 
-    @SafeVarargs
-    private CombinedProperty(Property<T, V>... properties) {
-      super(
-        properties[0].getType(),
-        "combined " + properties[0].getName() + "+" + properties.length);
-      this.properties = properties;
+    public BackgroundColorProperty() {
+      super(Integer.class, "background color");
     }
 
     @Override
-    public V get(T object) {
-      return properties[0].get(object);
+    @Nullable
+    public Integer get(View object) {
+      Drawable background = object.getBackground();
+      if (!(background instanceof ColorDrawable)) {
+        return null;
+      }
+      return ((ColorDrawable) background).getColor();
     }
 
     @Override
-    public void set(T object, V value) {
-      for (Property<T, V> property : properties) {
-        property.set(object, value);
-      }
+    public void set(View object, Integer value) {
+      object.setBackgroundColor(value);
     }
   }
 
   /**
-   * A Property for a view's background color.
+   * A Property for a view's translation as a point.
    */
-  private static class BackgroundColorProperty extends Property<View, Integer> {
+  private static class TranslationProperty extends Property<View, PointF> {
 
-    public BackgroundColorProperty() {
-      super(Integer.class, "background color");
+    public TranslationProperty() {
+      super(PointF.class, "translation");
     }
 
     @Override
-    public Integer get(View object) {
-      return ((ColorDrawable) object.getBackground()).getColor();
+    public PointF get(View object) {
+      return new PointF(object.getTranslationX(), object.getTranslationY());
     }
 
     @Override
-    public void set(View object, Integer value) {
-      object.setBackgroundColor(value);
+    public void set(View object, PointF value) {
+      object.setTranslationX(value.x);
+      object.setTranslationY(value.y);
+    }
+  }
+
+  /**
+   * A Property for a view's translation, scale and rotation.
+   */
+  private static class TransformProperty extends Property<View, ViewTransform> {
+
+    public TransformProperty() {
+      super(ViewTransform.class, "transform");
+    }
+
+    @Override
+    public ViewTransform get(View object) {
+      return ViewTransform.of(object);
+    }
+
+    @Override
+    public void set(View object, ViewTransform value) {
+      value.applyTo(object);
     }
   }
 }
@@ -0,0 +1,562 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+import android.os.AsyncTask;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.Nullable;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.LinearInterpolator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * Tween plans read from a compact binary file of tween specs, by id.
+ * <p>
+ * A spec defines a plan's property, duration, delay, keyframe values and offsets, and its timing
+ * functions. Reading specs parses them and compiles their keyframes, so load them on a background
+ * thread with {@link #load(AssetManager, String, Listener)}. Getting a plan from loaded specs is a
+ * clone that shares the compiled keyframes, so starting it does no parsing or compiling.
+ * <p>
+ * Values are floats for {@link FloatTweenProperty FloatTweenProperties}, and floats or ints for
+ * other properties, such as colors. Properties are identified by the name of their
+ * {@link android.util.Property}. The built-in float properties and
+ * {@link TweenProperty#BACKGROUND_COLOR} are known, and others must be
+ * {@link #registerProperty(TweenProperty) registered}. Timing functions are the default, linear,
+ * accelerate-decelerate or {@link CubicBezierInterpolator cubic Bezier} curves.
+ */
+public final class TweenSpecs {
+
+  /**
+   * Receives the result of {@link #load(AssetManager, String, Listener)} on the main thread.
+   */
+  public interface Listener {
+
+    void onLoaded(TweenSpecs specs);
+
+    void onError(IOException e);
+  }
+
+  private static final int MAGIC = 0x54575350;
+  private static final int VERSION = 1;
+
+  private static final int FLOAT_VALUES = 0;
+  private static final int INT_VALUES = 1;
+
+  private static final int HAS_OFFSETS = 1;
+  private static final int HAS_TIMING_FUNCTION = 1 << 1;
+  private static final int HAS_INTER_TIMING_FUNCTIONS = 1 << 2;
+
+  private static final int DEFAULT_TIMING = 0;
+  private static final int LINEAR_TIMING = 1;
+  private static final int ACCELERATE_DECELERATE_TIMING = 2;
+  private static final int CUBIC_BEZIER_TIMING = 3;
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private static final Map<String, TweenProperty<?, ?>> properties = new HashMap<>();
+  /**
+   * Specs loaded from assets, keyed by asset path.
+   */
+  private static final Map<String, TweenSpecs> loaded = new HashMap<>();
+  private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+  static {
+    TweenProperty<?, ?>[] builtIns = {
+      TweenProperty.ALPHA,
+      TweenProperty.TRANSLATION_X,
+      TweenProperty.TRANSLATION_Y,
+      TweenProperty.TRANSLATION_Z,
+      TweenProperty.X,
+      TweenProperty.Y,
+      TweenProperty.Z,
+      TweenProperty.ROTATION,
+      TweenProperty.ROTATION_X,
+      TweenProperty.ROTATION_Y,
+      TweenProperty.SCALE_X,
+      TweenProperty.SCALE_Y,
+      TweenProperty.SCALE,
+      TweenProperty.BACKGROUND_COLOR,
+    };
+    for (TweenProperty<?, ?> property : builtIns) {
+      registerProperty(property);
+    }
+  }
+
+  private final Map<String, BaseTween<?>> plans;
+
+  private TweenSpecs(Map<String, BaseTween<?>> plans) {
+    this.plans = plans;
+  }
+
+  /**
+   * Makes the given property known to specs, by the name of its {@link android.util.Property}.
+   */
+  public static void registerProperty(TweenProperty<?, ?> property) {
+    synchronized (properties) {
+      properties.put(property.property.getName(), property);
+    }
+  }
+
+  /**
+   * Returns a new plan of the spec with the given id, or null if there is none.
+   * <p>
+   * The plan has its own copies of the spec's keyframe arrays, so it may be modified freely.
+   */
+  @Nullable
+  public <T> BaseTween<T> get(String id) {
+    BaseTween<?> spec = plans.get(id);
+    if (spec == null) {
+      return null;
+    }
+    BaseTween<T> plan = (BaseTween<T>) spec.clone();
+    if (plan instanceof ObjectFloatTween) {
+      ObjectFloatTween<?> floatPlan = (ObjectFloatTween<?>) plan;
+      floatPlan.values = floatPlan.values.clone();
+    } else {
+      copyValues((ObjectTween<?, ?>) plan);
+    }
+    if (plan.offsets != null) {
+      plan.offsets = plan.offsets.clone();
+    }
+    if (plan.interTimingFunctions != null) {
+      plan.interTimingFunctions = plan.interTimingFunctions.clone();
+    }
+    // Tracks are cached by the identity of the values array, so share the spec's compiled track.
+    KeyframeTrack.share(spec, plan);
+    return plan;
+  }
+
+  private static <V> void copyValues(ObjectTween<?, V> plan) {
+    plan.values = plan.values.clone();
+  }
+
+  /**
+   * Returns the ids of the specs, in file order.
+   */
+  public Set<String> getIds() {
+    return Collections.unmodifiableSet(plans.keySet());
+  }
+
+  /**
+   * Returns the specs that were loaded from the given asset, or null if they have not been loaded.
+   */
+  @Nullable
+  public static TweenSpecs getLoaded(String path) {
+    synchronized (loaded) {
+      return loaded.get(path);
+    }
+  }
+
+  /**
+   * Loads the specs of the given asset on a background thread, and passes them to the listener on
+   * the main thread. Specs are cached by path, so loading them again does not read the asset.
+   */
+  public static void load(final AssetManager assets, final String path, Listener listener) {
+    load(path, new Callable<ByteBuffer>() {
+      @Override
+      public ByteBuffer call() throws IOException {
+        return map(assets, path);
+      }
+    }, AsyncTask.THREAD_POOL_EXECUTOR, listener);
+  }
+
+  static void load(
+    final String path,
+    final Callable<ByteBuffer> source,
+    Executor executor,
+    final Listener listener) {
+    final TweenSpecs cached = getLoaded(path);
+    if (cached != null) {
+      mainHandler.post(new Runnable() {
+        @Override
+        public void run() {
+          listener.onLoaded(cached);
+        }
+      });
+      return;
+    }
+
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        TweenSpecs specs = null;
+        IOException error = null;
+        try {
+          specs = read(source.call());
+          synchronized (loaded) {
+            loaded.put(path, specs);
+          }
+        } catch (IOException e) {
+          error = e;
+        } catch (Exception e) {
+          error = new IOException("Could not load tween specs: " + path, e);
+        }
+
+        final TweenSpecs result = specs;
+        final IOException failure = error;
+        mainHandler.post(new Runnable() {
+          @Override
+          public void run() {
+            if (failure != null) {
+              listener.onError(failure);
+            } else {
+              listener.onLoaded(result);
+            }
+          }
+        });
+      }
+    });
+  }
+
+  /**
+   * Reads the specs of the given asset on the calling thread. The asset is memory-mapped if it is
+   * stored uncompressed, which {@code aaptOptions.noCompress} can ensure.
+   */
+  public static TweenSpecs open(AssetManager assets, String path) throws IOException {
+    return read(map(assets, path));
+  }
+
+  private static ByteBuffer map(AssetManager assets, String path) throws IOException {
+    AssetFileDescriptor descriptor;
+    try {
+      descriptor = assets.openFd(path);
+    } catch (FileNotFoundException e) {
+      // Compressed assets cannot be mapped.
+      InputStream in = assets.open(path);
+      try {
+        return ByteBuffer.wrap(readFully(in));
+      } finally {
+        in.close();
+      }
+    }
+
+    FileInputStream in = descriptor.createInputStream();
+    try {
+      return in.getChannel().map(
+        FileChannel.MapMode.READ_ONLY, descriptor.getStartOffset(), descriptor.getLength());
+    } finally {
+      in.close();
+    }
+  }
+
+  private static byte[] readFully(InputStream in) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    int count;
+    while ((count = in.read(buffer)) != -1) {
+      out.write(buffer, 0, count);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Parses the given specs and compiles their keyframes, on the calling thread.
+   *
+   * @throws IOException If the specs are malformed, use an unknown property or fail validation.
+   */
+  public static TweenSpecs read(ByteBuffer buffer) throws IOException {
+    try {
+      if (buffer.getInt() != MAGIC) {
+        throw new IOException("Not a tween spec file");
+      }
+      int version = buffer.get();
+      if (version != VERSION) {
+        throw new IOException("Unsupported tween spec version: " + version);
+      }
+
+      int count = buffer.getInt();
+      Map<String, BaseTween<?>> plans = new LinkedHashMap<>();
+      for (int i = 0; i < count; i++) {
+        String id = readString(buffer);
+        BaseTween<?> plan = readPlan(buffer);
+        try {
+          KeyframeTrack.compile(plan);
+        } catch (IllegalArgumentException e) {
+          throw new IOException("Invalid tween spec: " + id, e);
+        }
+        plans.put(id, plan);
+      }
+      return new TweenSpecs(plans);
+    } catch (BufferUnderflowException e) {
+      throw new IOException("Truncated tween spec file", e);
+    }
+  }
+
+  private static BaseTween<?> readPlan(ByteBuffer buffer) throws IOException {
+    String propertyName = readString(buffer);
+    TweenProperty<?, ?> property;
+    synchronized (properties) {
+      property = properties.get(propertyName);
+    }
+    if (property == null) {
+      throw new IOException("Unknown tween property: " + propertyName);
+    }
+
+    int valueType = buffer.get();
+    int flags = buffer.get();
+    long duration = readTime(buffer, "duration");
+    long delay = readTime(buffer, "delay");
+    int count = buffer.getShort() & 0xffff;
+
+    BaseTween<?> plan;
+    if (valueType == FLOAT_VALUES && property instanceof FloatTweenProperty) {
+      float[] values = new float[count];
+      for (int i = 0; i < count; i++) {
+        values[i] = buffer.getFloat();
+      }
+      plan = new ObjectFloatTween<>((FloatTweenProperty<Object>) property, duration, values);
+    } else if (valueType == FLOAT_VALUES || valueType == INT_VALUES) {
+      if (!acceptsValues(property, valueType)) {
+        throw new IOException("Tween spec values do not fit property: " + propertyName);
+      }
+      Object[] values = new Object[count];
+      for (int i = 0; i < count; i++) {
+        values[i] = valueType == FLOAT_VALUES ? (Object) buffer.getFloat() : buffer.getInt();
+      }
+      plan = new ObjectTween<>((TweenProperty<Object, Object>) property, duration, values);
+    } else {
+      throw new IOException("Unknown tween spec value type: " + valueType);
+    }
+    plan.delay = delay;
+
+    if ((flags & HAS_OFFSETS) != 0) {
+      float[] offsets = new float[count];
+      for (int i = 0; i < count; i++) {
+        offsets[i] = buffer.getFloat();
+      }
+      plan.offsets = offsets;
+    }
+    if ((flags & HAS_TIMING_FUNCTION) != 0) {
+      plan.timingFunction = readTimingFunction(buffer);
+    }
+    if ((flags & HAS_INTER_TIMING_FUNCTIONS) != 0) {
+      TimeInterpolator[] timingFunctions = new TimeInterpolator[Math.max(0, count - 1)];
+      for (int i = 0; i < timingFunctions.length; i++) {
+        timingFunctions[i] = readTimingFunction(buffer);
+      }
+      plan.interTimingFunctions = timingFunctions;
+    }
+    return plan;
+  }
+
+  /**
+   * Reads a duration or a delay, which the spec format stores as a non-negative int.
+   */
+  private static long readTime(ByteBuffer buffer, String name) throws IOException {
+    int time = buffer.getInt();
+    if (time < 0) {
+      throw new IOException("Tween spec " + name + " out of range: " + time);
+    }
+    return time;
+  }
+
+  /**
+   * Returns whether the given property takes boxed values of the given value type.
+   */
+  private static boolean acceptsValues(TweenProperty<?, ?> property, int valueType) {
+    Class<?> type = property.property.getType();
+    if (valueType == FLOAT_VALUES) {
+      return type == float.class || type.isAssignableFrom(Float.class);
+    }
+    return type == int.class || type.isAssignableFrom(Integer.class);
+  }
+
+  @Nullable
+  private static TimeInterpolator readTimingFunction(ByteBuffer buffer) throws IOException {
+    int type = buffer.get();
+    switch (type) {
+      case DEFAULT_TIMING:
+        return null;
+      case LINEAR_TIMING:
+        return new LinearInterpolator();
+      case ACCELERATE_DECELERATE_TIMING:
+        return BaseTween.DEFAULT_TIMING_FUNCTION;
+      case CUBIC_BEZIER_TIMING:
+        // Sample the curve now rather than when the plan is first added. The plan keeps its own
+        // table, since a shared table would not keep the curve.
+        return LookupTableInterpolator.create(new CubicBezierInterpolator(
+          buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getFloat()),
+          LookupTableInterpolator.DEFAULT_MAX_ERROR);
+      default:
+        throw new IOException("Unknown tween spec timing function: " + type);
+    }
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getShort() & 0xffff];
+    buffer.get(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  /**
+   * Writes the given plans as specs, keyed by id. Use it in the tools that convert design specs.
+   *
+   * @throws IllegalArgumentException If a plan's values, property or timing functions cannot be
+   * written as a spec, or if an id, a property name, a duration, a delay or a keyframe count does
+   * not fit the spec format.
+   */
+  public static void write(Map<String, ? extends BaseTween<?>> plans, OutputStream out)
+    throws IOException {
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(MAGIC);
+    data.writeByte(VERSION);
+    data.writeInt(plans.size());
+    for (Map.Entry<String, ? extends BaseTween<?>> entry : plans.entrySet()) {
+      writeString(data, entry.getKey());
+      writePlan(data, entry.getValue());
+    }
+    data.flush();
+  }
+
+  private static void writePlan(DataOutputStream out, BaseTween<?> plan) throws IOException {
+    TweenProperty<?, ?> property = plan.getProperty();
+    String propertyName = property.property.getName();
+    synchronized (properties) {
+      if (properties.get(propertyName) != property) {
+        throw new IllegalArgumentException("Unregistered tween property: " + propertyName);
+      }
+    }
+    writeString(out, propertyName);
+
+    int count = plan.getValueCount();
+    int valueType = getValueType(plan);
+    int flags = (plan.offsets != null ? HAS_OFFSETS : 0)
+      | (plan.timingFunction != null ? HAS_TIMING_FUNCTION : 0)
+      | (plan.interTimingFunctions != null ? HAS_INTER_TIMING_FUNCTIONS : 0);
+    out.writeByte(valueType);
+    out.writeByte(flags);
+    out.writeInt(checkTime("duration", plan.duration));
+    out.writeInt(checkTime("delay", plan.delay));
+    if (count > 0xffff) {
+      throw new IllegalArgumentException("Tween spec has more than 65535 keyframes: " + plan);
+    }
+    out.writeShort(count);
+
+    for (int i = 0; i < count; i++) {
+      if (plan instanceof ObjectFloatTween) {
+        out.writeFloat(((ObjectFloatTween<?>) plan).values[i]);
+      } else if (valueType == FLOAT_VALUES) {
+        out.writeFloat((Float) ((ObjectTween<?, ?>) plan).values[i]);
+      } else {
+        out.writeInt((Integer) ((ObjectTween<?, ?>) plan).values[i]);
+      }
+    }
+    if (plan.offsets != null) {
+      for (float offset : plan.offsets) {
+        out.writeFloat(offset);
+      }
+    }
+    if (plan.timingFunction != null) {
+      writeTimingFunction(out, plan.timingFunction);
+    }
+    if (plan.interTimingFunctions != null) {
+      for (TimeInterpolator timingFunction : plan.interTimingFunctions) {
+        writeTimingFunction(out, timingFunction);
+      }
+    }
+  }
+
+  /**
+   * Returns the given time as an int, or throws if it does not fit.
+   */
+  private static int checkTime(String name, long time) {
+    if (time < 0 || time > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Tween spec " + name + " out of range: " + time);
+    }
+    return (int) time;
+  }
+
+  private static int getValueType(BaseTween<?> plan) {
+    if (plan instanceof ObjectFloatTween) {
+      return FLOAT_VALUES;
+    }
+    Object[] values = ((ObjectTween<?, ?>) plan).values;
+    Class<?> type = values.length > 0 && values[0] != null ? values[0].getClass() : null;
+    for (Object value : values) {
+      if (value == null || value.getClass() != type) {
+        type = null;
+        break;
+      }
+    }
+    if (type == Float.class) {
+      return FLOAT_VALUES;
+    }
+    if (type == Integer.class) {
+      return INT_VALUES;
+    }
+    throw new IllegalArgumentException("Tween spec values must be all floats or all ints: " + plan);
+  }
+
+  private static void writeTimingFunction(
+    DataOutputStream out, @Nullable TimeInterpolator timingFunction) throws IOException {
+    if (timingFunction instanceof LookupTableInterpolator) {
+      TimeInterpolator source = ((LookupTableInterpolator) timingFunction).getSource();
+      // The source of a shared table may have been collected.
+      if (source == null) {
+        throw new IllegalArgumentException("Timing function cannot be written: " + timingFunction);
+      }
+      timingFunction = source;
+    }
+
+    if (timingFunction == null) {
+      out.writeByte(DEFAULT_TIMING);
+    } else if (timingFunction.getClass() == LinearInterpolator.class) {
+      out.writeByte(LINEAR_TIMING);
+    } else if (timingFunction.getClass() == AccelerateDecelerateInterpolator.class) {
+      out.writeByte(ACCELERATE_DECELERATE_TIMING);
+    } else if (timingFunction instanceof CubicBezierInterpolator) {
+      CubicBezierInterpolator curve = (CubicBezierInterpolator) timingFunction;
+      out.writeByte(CUBIC_BEZIER_TIMING);
+      out.writeFloat(curve.x1);
+      out.writeFloat(curve.y1);
+      out.writeFloat(curve.x2);
+      out.writeFloat(curve.y2);
+    } else {
+      throw new IllegalArgumentException("Timing function cannot be written: " + timingFunction);
+    }
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(UTF_8);
+    if (bytes.length > 0xffff) {
+      throw new IllegalArgumentException("Tween spec string longer than 65535 bytes: " + value);
+    }
+    out.writeShort(bytes.length);
+    out.write(bytes);
+  }
+}
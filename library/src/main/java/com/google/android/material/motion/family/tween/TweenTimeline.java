@@ -0,0 +1,180 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.support.annotation.Nullable;
+
+/**
+ * A tween plan that can be sampled at any time without an {@link android.animation.Animator}.
+ * <p>
+ * Time is measured in milliseconds from the start of the timeline, so the plan's delay comes
+ * first. The timeline's current time is read from a {@link TweenClock}, which makes it possible to
+ * scrub the timeline with a gesture or to step it deterministically in tests.
+ * <p>
+ * The timeline evaluates the same compiled {@link KeyframeTrack} as the {@link TweenPerformer}, so
+ * its values match the values the performer applies. The plan is read once on construction.
+ */
+public final class TweenTimeline<T> {
+
+  private final KeyframeTrack track;
+  private final TimeInterpolator timingFunction;
+  private final long delay;
+  private final long duration;
+  private final int repeatCount;
+  private final int repeatMode;
+  private final TweenClock clock;
+  /**
+   * The value that {@link #apply(Object)} interpolates an object track into, or null if it
+   * allocates new values.
+   */
+  @Nullable
+  private final Object out;
+
+  private long startTime;
+  private boolean fromRead;
+  private float floatFrom;
+  private Object objectFrom;
+
+  /**
+   * Creates a timeline that follows the {@link TweenClock#UPTIME uptime} clock.
+   */
+  public TweenTimeline(BaseTween<T> plan) {
+    this(plan, TweenClock.UPTIME);
+  }
+
+  /**
+   * Creates a timeline that starts at the clock's current time.
+   *
+   * @throws IllegalArgumentException If the plan is invalid.
+   */
+  public TweenTimeline(BaseTween<T> plan, TweenClock clock) {
+    this.track = KeyframeTrack.compile(plan);
+    this.timingFunction = plan.getTimingFunction();
+    this.delay = plan.delay;
+    this.duration = plan.duration;
+    this.repeatCount = plan.repeatCount;
+    this.repeatMode = plan.repeatMode;
+    this.clock = clock;
+    this.startTime = clock.getTimeMillis();
+    this.out =
+      track instanceof ObjectKeyframeTrack ? ((ObjectKeyframeTrack<?>) track).createValue() : null;
+  }
+
+  /**
+   * Restarts the timeline at the clock's current time. The implicit from value, if any, is read
+   * again on the next {@link #apply(Object)}.
+   */
+  public void start() {
+    startTime = clock.getTimeMillis();
+    fromRead = false;
+  }
+
+  /**
+   * Moves the timeline so that its current time is the given time.
+   */
+  public void seek(long time) {
+    startTime = clock.getTimeMillis() - time;
+  }
+
+  /**
+   * Returns the current time of the timeline in milliseconds.
+   */
+  public long getTime() {
+    return clock.getTimeMillis() - startTime;
+  }
+
+  /**
+   * Returns the length of the timeline in milliseconds, including the plan's delay and every
+   * repetition, or {@link Long#MAX_VALUE} if it repeats infinitely.
+   */
+  public long getTotalDuration() {
+    if (repeatCount == BaseTween.INFINITE) {
+      return Long.MAX_VALUE;
+    }
+    return delay + duration * (repeatCount + 1L);
+  }
+
+  /**
+   * Returns whether the current time is at or past the end of the timeline.
+   */
+  public boolean isFinished() {
+    return getTime() >= getTotalDuration();
+  }
+
+  /**
+   * Returns the linear progress of the current repetition of the tween at the given time, from 0
+   * to 1. Every other repetition of a reversing tween progresses from 1 to 0.
+   */
+  public float getLinearFraction(long time) {
+    return BaseTween.getLinearFraction(time - delay, duration, repeatCount, repeatMode);
+  }
+
+  /**
+   * Returns the value of a float tween at the given time, without boxing.
+   *
+   * @param from The from value, used only if the plan has an implicit from.
+   * @throws IllegalStateException If the plan does not animate a {@link FloatTweenProperty}.
+   */
+  public float getFloatValue(long time, float from) {
+    if (!(track instanceof FloatKeyframeTrack)) {
+      throw new IllegalStateException(
+        "Not a float property: " + track.property.property.getName());
+    }
+    return ((FloatKeyframeTrack) track).getValue(
+      getLinearFraction(time), timingFunction, duration, from, 0f);
+  }
+
+  /**
+   * Returns the value of the tween at the given time. Float values are boxed, and every call
+   * returns a new value.
+   *
+   * @param from The from value, used only if the plan has an implicit from.
+   */
+  public Object getValue(long time, @Nullable Object from) {
+    if (track instanceof FloatKeyframeTrack) {
+      return getFloatValue(time, from != null ? (Float) from : 0f);
+    }
+    float fraction = timingFunction.getInterpolation(getLinearFraction(time));
+    return ((ObjectKeyframeTrack<Object>) track).getValue(fraction, from);
+  }
+
+  /**
+   * Applies the value at the current time to the target. If the plan has an implicit from, it is
+   * read from the target on the first call after the timeline was started.
+   */
+  public void apply(T target) {
+    long time = getTime();
+
+    if (track instanceof FloatKeyframeTrack) {
+      FloatTweenProperty<? super T> property = (FloatTweenProperty<? super T>) track.property;
+      if (!fromRead && track.implicitFrom) {
+        floatFrom = TweenValueStore.readFloat(target, (FloatKeyframeTrack) track);
+      }
+      fromRead = true;
+      property.setValue(target, getFloatValue(time, floatFrom));
+    } else {
+      TweenProperty<? super T, Object> property = (TweenProperty<? super T, Object>) track.property;
+      if (!fromRead && track.implicitFrom) {
+        objectFrom = TweenValueStore.read(target, (ObjectKeyframeTrack<?>) track);
+      }
+      fromRead = true;
+      float fraction = timingFunction.getInterpolation(getLinearFraction(time));
+      property.property.set(
+        target, ((ObjectKeyframeTrack<Object>) track).getValue(fraction, objectFrom, out));
+    }
+  }
+}
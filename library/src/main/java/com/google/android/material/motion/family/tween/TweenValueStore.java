@@ -0,0 +1,255 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.support.annotation.Nullable;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * Remembers the last value that a tween wrote to each property of each target, so that tweens
+ * with an implicit from value need not read it back through the property's getter.
+ * <p>
+ * A value written by a tween that was interrupted is current, since the tween would have kept
+ * writing. It is used as the from value of the next tween without calling the getter. A value
+ * written by a tween that ran to its end is settled: the value may have been changed outside of
+ * the tween system since, so the getter is called. Its value is only used if an object getter
+ * returns null, such as {@link TweenProperty#BACKGROUND_COLOR} on a view whose background is not a
+ * color. If there is no value to fall back to, the tween starts from its final value.
+ * <p>
+ * Targets are keyed by identity and referenced weakly, so targets that are equal to each other
+ * have their own values, and a target's values are dropped once it has been collected.
+ */
+final class TweenValueStore {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * Guards the table, and the targets and entries in it.
+   */
+  private static final Object lock = new Object();
+  private static final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+  /**
+   * Hash buckets of targets by identity hash code. The length is a power of two.
+   */
+  private static Target[] table = new Target[INITIAL_CAPACITY];
+  private static int size;
+
+  private TweenValueStore() {
+  }
+
+  /**
+   * Records the last float value that a tween wrote to the given property of the target.
+   *
+   * @param settled Whether the tween ran to its end, as opposed to being interrupted.
+   */
+  static void putFloat(Object target, TweenProperty<?, ?> property, float value, boolean settled) {
+    synchronized (lock) {
+      Entry entry = obtain(target, property);
+      entry.floatValue = value;
+      entry.value = null;
+      entry.settled = settled;
+    }
+  }
+
+  /**
+   * Records the last object value that a tween wrote to the given property of the target.
+   *
+   * @param settled Whether the tween ran to its end, as opposed to being interrupted.
+   */
+  static void put(
+    Object target, TweenProperty<?, ?> property, @Nullable Object value, boolean settled) {
+    synchronized (lock) {
+      Entry entry = obtain(target, property);
+      entry.value = value;
+      entry.settled = settled;
+    }
+  }
+
+  /**
+   * Returns the implicit from value of the given track for the target.
+   */
+  static float readFloat(Object target, FloatKeyframeTrack track) {
+    FloatTweenProperty<Object> property = (FloatTweenProperty<Object>) track.property;
+    synchronized (lock) {
+      Entry entry = find(target, property);
+      if (entry != null && !entry.settled) {
+        return entry.floatValue;
+      }
+    }
+    return property.getValue(target);
+  }
+
+  /**
+   * Returns the implicit from value of the given track for the target. If the track interpolates in
+   * place, the value is a copy that no running tween writes into.
+   */
+  @Nullable
+  static Object read(Object target, ObjectKeyframeTrack<?> track) {
+    return ((ObjectKeyframeTrack<Object>) track).snapshot(readValue(target, track));
+  }
+
+  @Nullable
+  private static Object readValue(Object target, ObjectKeyframeTrack<?> track) {
+    TweenProperty<Object, ?> property = (TweenProperty<Object, ?>) track.property;
+    Object fallback = track.values[track.values.length - 1];
+    synchronized (lock) {
+      Entry entry = find(target, property);
+      if (entry != null) {
+        if (!entry.settled) {
+          return entry.value;
+        }
+        fallback = entry.value;
+      }
+    }
+
+    Object value = property.property.get(target);
+    return value != null ? value : fallback;
+  }
+
+  @Nullable
+  private static Entry find(Object target, TweenProperty<?, ?> property) {
+    Target key = findTarget(target);
+    if (key == null) {
+      return null;
+    }
+    for (Entry entry = key.entries; entry != null; entry = entry.next) {
+      if (entry.property == property) {
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  private static Entry obtain(Object target, TweenProperty<?, ?> property) {
+    Entry entry = find(target, property);
+    if (entry != null) {
+      return entry;
+    }
+
+    removeCollected();
+    Target key = findTarget(target);
+    if (key == null) {
+      key = addTarget(target);
+    }
+    entry = new Entry(property, key.entries);
+    key.entries = entry;
+    return entry;
+  }
+
+  @Nullable
+  private static Target findTarget(Object target) {
+    int hash = System.identityHashCode(target);
+    for (Target key = table[indexOf(hash, table.length)]; key != null; key = key.next) {
+      if (key.hash == hash && key.get() == target) {
+        return key;
+      }
+    }
+    return null;
+  }
+
+  private static Target addTarget(Object target) {
+    if (size >= table.length * 3 / 4) {
+      resize(table.length * 2);
+    }
+    Target key = new Target(target, collected);
+    int index = indexOf(key.hash, table.length);
+    key.next = table[index];
+    table[index] = key;
+    size++;
+    return key;
+  }
+
+  /**
+   * Removes the targets that have been collected, with their values.
+   */
+  private static void removeCollected() {
+    Object ref;
+    while ((ref = collected.poll()) != null) {
+      Target key = (Target) ref;
+      int index = indexOf(key.hash, table.length);
+      Target previous = null;
+      for (Target other = table[index]; other != null; previous = other, other = other.next) {
+        if (other == key) {
+          if (previous == null) {
+            table[index] = key.next;
+          } else {
+            previous.next = key.next;
+          }
+          size--;
+          break;
+        }
+      }
+    }
+  }
+
+  private static void resize(int capacity) {
+    Target[] resized = new Target[capacity];
+    for (Target key : table) {
+      while (key != null) {
+        Target next = key.next;
+        int index = indexOf(key.hash, capacity);
+        key.next = resized[index];
+        resized[index] = key;
+        key = next;
+      }
+    }
+    table = resized;
+  }
+
+  private static int indexOf(int hash, int capacity) {
+    return (hash ^ (hash >>> 16)) & (capacity - 1);
+  }
+
+  /**
+   * A target, referenced weakly, and the values of its properties.
+   */
+  private static final class Target extends WeakReference<Object> {
+
+    final int hash;
+    @Nullable
+    Target next;
+    @Nullable
+    Entry entries;
+
+    Target(Object target, ReferenceQueue<Object> queue) {
+      super(target, queue);
+      this.hash = System.identityHashCode(target);
+    }
+  }
+
+  /**
+   * The value of one property of a target. The entries of a target form a list, since a target
+   * has few tweened properties.
+   */
+  private static final class Entry {
+
+    final TweenProperty<?, ?> property;
+    @Nullable
+    final Entry next;
+
+    float floatValue;
+    @Nullable
+    Object value;
+    boolean settled;
+
+    Entry(TweenProperty<?, ?> property, @Nullable Entry next) {
+      this.property = property;
+      this.next = next;
+    }
+  }
+}
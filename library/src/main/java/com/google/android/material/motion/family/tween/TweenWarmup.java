@@ -0,0 +1,231 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.animation.ValueAnimator;
+import android.content.Context;
+import android.graphics.Path;
+import android.graphics.PointF;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.animation.AccelerateInterpolator;
+import android.view.animation.DecelerateInterpolator;
+
+import com.google.android.material.motion.runtime.MotionRuntime;
+import com.google.android.material.motion.runtime.PerformerFeatures.ContinuousPerforming.IsActiveToken;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warms up the tween code path so that the first tween of the process runs as fast as later ones.
+ * <p>
+ * The first tween otherwise pays for loading the tween classes, initializing the built-in
+ * {@link TweenProperty properties}, sampling the default timing function and running the
+ * per-frame path in the interpreter. Warming up does all of that on a view that is never attached
+ * to a window: it adds tweens of every kind to a runtime and steps their animators frame by frame,
+ * steps the same tweens on an engine of its own, and steps them on a {@link TweenTimeline}.
+ * <p>
+ * Warming up neither reports {@link TweenMetrics} nor disturbs running tweens.
+ * <p>
+ * Warm up once, on the main thread, during idle time at startup or before the first screen that
+ * animates. Later calls do nothing.
+ */
+public final class TweenWarmup {
+
+  /**
+   * The number of frames each tween is stepped through.
+   */
+  static final int FRAMES = 120;
+  private static final long FRAME_INTERVAL = 16;
+
+  private static boolean warmedUp;
+  /**
+   * The animators started while warming up, which are stepped by hand.
+   */
+  @Nullable
+  private static List<ValueAnimator> startedAnimators;
+
+  private TweenWarmup() {
+  }
+
+  /**
+   * Returns whether the tween code path has been warmed up.
+   */
+  public static boolean isWarmedUp() {
+    return warmedUp;
+  }
+
+  /**
+   * Warms up the tween code path now. Must be called on the main thread.
+   */
+  public static void warmUp(Context context) {
+    if (warmedUp) {
+      return;
+    }
+    warmedUp = true;
+    warmUp(new View(context));
+  }
+
+  /**
+   * Steps tweens of every kind on the given view through every code path that applies frames.
+   */
+  static void warmUp(View view) {
+    // The warm-up tweens run on animators whether or not the app uses the shared engine, which is
+    // warmed up separately.
+    TweenMetricsListener metricsListener = TweenPerformer.metricsListener;
+    boolean sharedEngineEnabled = TweenPerformer.sharedEngineEnabled;
+    TweenPerformer.metricsListener = null;
+    TweenPerformer.sharedEngineEnabled = false;
+    startedAnimators = new ArrayList<>();
+    try {
+      MotionRuntime runtime = new MotionRuntime();
+      // An engine of its own, so that the frames stepped here do not advance the app's tweens.
+      TweenEngine engine = new TweenEngine() {
+        @Override
+        void scheduleFrame() {
+          // Frames are stepped by hand.
+        }
+      };
+      IsActiveToken token = new IsActiveToken() {
+        @Override
+        public void terminate() {
+        }
+      };
+      for (BaseTween<View> plan : createPlans()) {
+        stepAnimators(runtime, plan, view);
+        stepEngine(engine, token, plan, view);
+        stepTimeline(plan, view);
+      }
+    } finally {
+      TweenPerformer.metricsListener = metricsListener;
+      TweenPerformer.sharedEngineEnabled = sharedEngineEnabled;
+      startedAnimators = null;
+    }
+  }
+
+  /**
+   * Records an animator that a {@link TweenPerformer} started, if warming up.
+   */
+  static void onAnimatorStarted(ValueAnimator animator) {
+    if (startedAnimators != null) {
+      startedAnimators.add(animator);
+    }
+  }
+
+  /**
+   * Warms up the tween code path the next time the calling thread's message queue is idle. Must be
+   * called on the main thread.
+   */
+  public static void warmUpWhenIdle(final Context context) {
+    if (warmedUp) {
+      return;
+    }
+    Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+      @Override
+      public boolean queueIdle() {
+        warmUp(context);
+        return false;
+      }
+    });
+  }
+
+  /**
+   * Allows the next call to warm up again. For tests.
+   */
+  static void reset() {
+    warmedUp = false;
+  }
+
+  /**
+   * Returns a plan for each kind of track and property that the library evaluates.
+   */
+  private static List<BaseTween<View>> createPlans() {
+    long duration = FRAMES * FRAME_INTERVAL;
+    FloatTween alpha = new FloatTween(TweenProperty.ALPHA, duration, 0f, .5f, 1f);
+    alpha.offsets = new float[]{0f, .25f, 1f};
+    alpha.interTimingFunctions =
+      new TimeInterpolator[]{new AccelerateInterpolator(), new DecelerateInterpolator()};
+
+    FloatTween scale = new FloatTween(TweenProperty.SCALE, duration, 1f, 2f);
+    scale.bakeInterval = FRAME_INTERVAL;
+
+    Tween<Float> rotation = new Tween<>(TweenProperty.ROTATION, duration, 0f, 90f);
+    Tween<Integer> color = new Tween<>(TweenProperty.BACKGROUND_COLOR, duration, 0, 0xffffffff);
+    Tween<PointF> translation =
+      new Tween<>(TweenProperty.TRANSLATION, duration, new PointF(), new PointF(1f, 1f));
+    Tween<ViewTransform> transform =
+      new Tween<>(TweenProperty.TRANSFORM, duration, new ViewTransform(), new ViewTransform());
+
+    Path path = new Path();
+    path.lineTo(1f, 1f);
+    PathTween<View> along = new PathTween<>(TweenProperty.TRANSLATION, duration, path);
+
+    List<BaseTween<View>> plans = new ArrayList<>();
+    plans.add(alpha);
+    plans.add(scale);
+    plans.add(rotation);
+    plans.add(color);
+    plans.add(translation);
+    plans.add(transform);
+    plans.add(along);
+    return plans;
+  }
+
+  /**
+   * Adds the plan the way an app would, and steps the animator that runs it through every frame.
+   */
+  private static void stepAnimators(MotionRuntime runtime, BaseTween<View> plan, View view) {
+    runtime.addPlan(PreparedTween.prepare(plan), view);
+    for (ValueAnimator animator : startedAnimators) {
+      if (!animator.isStarted()) {
+        // Already ended.
+        continue;
+      }
+      for (int i = 0; i <= FRAMES; i++) {
+        animator.setCurrentPlayTime(i * FRAME_INTERVAL);
+      }
+      animator.end();
+    }
+    startedAnimators.clear();
+  }
+
+  /**
+   * Steps the plan through every frame on the given engine.
+   */
+  private static void stepEngine(
+    TweenEngine engine, IsActiveToken token, BaseTween<View> plan, View view) {
+    engine.add(view, PreparedTween.prepare(plan), 0f, token, null);
+    for (int i = 0; i <= FRAMES; i++) {
+      engine.doFrame(i * FRAME_INTERVAL);
+    }
+  }
+
+  /**
+   * Applies every frame of the given plan to the view on a {@link TweenTimeline}.
+   */
+  private static void stepTimeline(BaseTween<View> plan, View view) {
+    ManualTweenClock clock = new ManualTweenClock();
+    TweenTimeline<View> timeline = new TweenTimeline<>(plan, clock);
+    for (int i = 0; i <= FRAMES; i++) {
+      timeline.apply(view);
+      clock.advance(FRAME_INTERVAL);
+    }
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a {@link FloatTweenProperty} constant for a float field or setter of a custom class.
+ * <p>
+ * The tween family's annotation processor writes the constants of a class {@code Foo} into a
+ * generated {@code FooTweenProperties} class in the same package. The generated properties read
+ * and write the value directly, with no reflection and no boxing.
+ * <p>
+ * Annotate a non-private {@code float} field, or a non-private {@code void setFoo(float)} setter
+ * that has a matching {@code float getFoo()} getter. Annotate the setter if writing the value must
+ * also invalidate the object. A leading {@code m} is stripped from field names, so a field
+ * {@code mCornerRadius} generates a {@code CORNER_RADIUS} constant named "cornerRadius".
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface Tweenable {
+}
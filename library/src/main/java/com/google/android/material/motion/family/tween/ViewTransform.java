@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.view.View;
+
+/**
+ * A 2D transform of a {@link View}: its translation, scale and rotation. Animate it with
+ * {@link TweenProperty#TRANSFORM} to interpolate all components in one tween.
+ */
+public final class ViewTransform {
+
+  static final InPlaceEvaluator<ViewTransform> EVALUATOR = new InPlaceEvaluator<ViewTransform>() {
+    @Override
+    public ViewTransform createValue(ViewTransform template) {
+      return new ViewTransform();
+    }
+
+    @Override
+    public void evaluate(
+      float fraction, ViewTransform start, ViewTransform end, ViewTransform out) {
+      out.translationX = start.translationX + fraction * (end.translationX - start.translationX);
+      out.translationY = start.translationY + fraction * (end.translationY - start.translationY);
+      out.scaleX = start.scaleX + fraction * (end.scaleX - start.scaleX);
+      out.scaleY = start.scaleY + fraction * (end.scaleY - start.scaleY);
+      out.rotation = start.rotation + fraction * (end.rotation - start.rotation);
+    }
+  };
+
+  public float translationX;
+  public float translationY;
+  public float scaleX;
+  public float scaleY;
+  public float rotation;
+
+  /**
+   * Creates the transform of a view that has not been moved, scaled or rotated.
+   */
+  public ViewTransform() {
+    this(0f, 0f, 1f, 1f, 0f);
+  }
+
+  public ViewTransform(
+    float translationX, float translationY, float scaleX, float scaleY, float rotation) {
+    this.translationX = translationX;
+    this.translationY = translationY;
+    this.scaleX = scaleX;
+    this.scaleY = scaleY;
+    this.rotation = rotation;
+  }
+
+  /**
+   * Returns the current transform of the given view.
+   */
+  public static ViewTransform of(View view) {
+    return new ViewTransform(
+      view.getTranslationX(),
+      view.getTranslationY(),
+      view.getScaleX(),
+      view.getScaleY(),
+      view.getRotation());
+  }
+
+  /**
+   * Applies this transform to the given view in one pass. Components that the view already has are
+   * not written, so they do not invalidate the view again.
+   */
+  public void applyTo(View view) {
+    if (view.getTranslationX() != translationX) {
+      view.setTranslationX(translationX);
+    }
+    if (view.getTranslationY() != translationY) {
+      view.setTranslationY(translationY);
+    }
+    if (view.getScaleX() != scaleX) {
+      view.setScaleX(scaleX);
+    }
+    if (view.getScaleY() != scaleY) {
+      view.setScaleY(scaleY);
+    }
+    if (view.getRotation() != rotation) {
+      view.setRotation(rotation);
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ViewTransform)) {
+      return false;
+    }
+    ViewTransform that = (ViewTransform) o;
+    return Float.compare(translationX, that.translationX) == 0
+      && Float.compare(translationY, that.translationY) == 0
+      && Float.compare(scaleX, that.scaleX) == 0
+      && Float.compare(scaleY, that.scaleY) == 0
+      && Float.compare(rotation, that.rotation) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = Float.floatToIntBits(translationX);
+    result = 31 * result + Float.floatToIntBits(translationY);
+    result = 31 * result + Float.floatToIntBits(scaleX);
+    result = 31 * result + Float.floatToIntBits(scaleY);
+    result = 31 * result + Float.floatToIntBits(rotation);
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "ViewTransform{translation=(" + translationX + ", " + translationY
+      + "), scale=(" + scaleX + ", " + scaleY + "), rotation=" + rotation + "}";
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.app.Activity;
+import android.graphics.Color;
+import android.view.View;
+import android.view.animation.LinearInterpolator;
+import android.view.animation.OvershootInterpolator;
+
+import com.google.android.material.motion.runtime.MotionRuntime;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class BakedTrackTests {
+
+  private static final TimeInterpolator LINEAR = new LinearInterpolator();
+
+  @Test
+  public void bakesOneSamplePerFrameInterval() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    tween.bakeInterval = 10;
+
+    assertThat(BakedTrack.bake(tween).getSampleCount()).isEqualTo(11);
+  }
+
+  @Test
+  public void matchesKeyframeEvaluation() {
+    FloatTween tween = new FloatTween(TweenProperty.TRANSLATION_X, 300, 0f, 100f, 50f);
+    tween.offsets = new float[]{0f, .3f, 1f};
+    tween.timingFunction = new OvershootInterpolator();
+    tween.bakeInterval = 1;
+
+    BakedTrack baked = BakedTrack.bake(tween);
+    FloatKeyframeTrack track = (FloatKeyframeTrack) KeyframeTrack.compile(tween);
+    for (float fraction = 0f; fraction <= 1f; fraction += .01f) {
+      float expected = track.getValue(fraction, tween.getTimingFunction(), 300, 0f, 0f);
+      assertThat(baked.getFloatValue(fraction, 0f)).isWithin(.05f).of(expected);
+    }
+  }
+
+  @Test
+  public void bakesImplicitFrom() {
+    FloatTween tween = new FloatTween(TweenProperty.TRANSLATION_X, 100, 0f);
+    tween.timingFunction = LINEAR;
+    tween.bakeInterval = 16;
+
+    BakedTrack baked = BakedTrack.bake(tween);
+
+    assertThat(baked.getFloatValue(0f, 40f)).isWithin(1e-4f).of(40f);
+    assertThat(baked.getFloatValue(.5f, 40f)).isWithin(1e-4f).of(20f);
+    assertThat(baked.getFloatValue(.5f, -40f)).isWithin(1e-4f).of(-20f);
+    assertThat(baked.getFloatValue(1f, 40f)).isWithin(1e-4f).of(0f);
+  }
+
+  @Test
+  public void objectValuesSnapToNearestSample() {
+    Tween<Integer> tween = new Tween<>(TweenProperty.BACKGROUND_COLOR, 100, Color.RED, Color.BLUE);
+    tween.bakeInterval = 50;
+
+    BakedTrack baked = BakedTrack.bake(tween);
+
+    assertThat(baked.getSampleCount()).isEqualTo(3);
+    assertThat(baked.getValue(.1f)).isEqualTo(Color.RED);
+    assertThat(baked.getValue(.9f)).isEqualTo(Color.BLUE);
+  }
+
+  @Test
+  public void sharesBakedTrackWithPlanClones() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    tween.bakeInterval = 16;
+
+    BakedTrack baked = BakedTrack.bake(tween);
+
+    assertThat(BakedTrack.bake((FloatTween) tween.clone())).isSameAs(baked);
+  }
+
+  @Test
+  public void rebakesChangedPlan() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    tween.bakeInterval = 16;
+    BakedTrack baked = BakedTrack.bake(tween);
+
+    tween.duration = 200;
+
+    assertThat(BakedTrack.bake(tween)).isNotSameAs(baked);
+  }
+
+  @Test
+  public void performerPlaysBackBakedTrack() {
+    View view = new View(Robolectric.setupActivity(Activity.class));
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 1f, 0f);
+    tween.bakeInterval = 16;
+
+    new MotionRuntime().addPlan(tween, view);
+
+    assertThat(view.getAlpha()).isWithin(0f).of(0f);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void planWithoutBakeIntervalThrowsException() {
+    BakedTrack.bake(new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void implicitFromObjectTweenThrowsException() {
+    Tween<Integer> tween = new Tween<>(TweenProperty.BACKGROUND_COLOR, 100, Color.BLUE);
+    tween.bakeInterval = 16;
+
+    BakedTrack.bake(tween);
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.app.Activity;
+import android.content.Context;
+import android.graphics.Color;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import com.google.android.material.motion.runtime.MotionRuntime;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class BroadcastTweenTests {
+
+  private MotionRuntime runtime;
+  private Context context;
+  private TweenBroadcast<View> broadcast;
+
+  @Before
+  public void setUp() {
+    runtime = new MotionRuntime();
+    context = Robolectric.setupActivity(Activity.class);
+    broadcast = new TweenBroadcast<>();
+    for (int i = 0; i < 10; i++) {
+      broadcast.add(new View(context));
+    }
+  }
+
+  @After
+  public void tearDown() {
+    TweenPerformer.setMetricsListener(null);
+  }
+
+  @Test
+  public void animatesEveryTarget() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 1f, 0f);
+    runtime.addPlan(new BroadcastTween<>(tween), broadcast);
+
+    for (int i = 0; i < broadcast.size(); i++) {
+      assertThat(broadcast.get(i).getAlpha()).isWithin(0f).of(0f);
+    }
+  }
+
+  @Test
+  public void animatesEveryTargetWithObjectValues() {
+    Tween<Integer> tween = new Tween<>(TweenProperty.BACKGROUND_COLOR, 100, Color.RED, Color.BLUE);
+    runtime.addPlan(new BroadcastTween<>(tween), broadcast);
+
+    for (int i = 0; i < broadcast.size(); i++) {
+      assertThat(TweenProperty.BACKGROUND_COLOR.property.get(broadcast.get(i)))
+        .isEqualTo(Color.BLUE);
+    }
+  }
+
+  @Test
+  public void evaluatesKeyframesOncePerFrame() {
+    final List<TweenMetrics> metrics = new ArrayList<>();
+    TweenPerformer.setMetricsListener(new TweenMetricsListener() {
+      @Override
+      public void onTweenMetrics(TweenMetrics tweenMetrics) {
+        metrics.add(tweenMetrics);
+      }
+    });
+    CountingInterpolator timingFunction = new CountingInterpolator();
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 1f, 0f);
+    tween.timingFunction = timingFunction;
+
+    runtime.addPlan(new BroadcastTween<>(tween), broadcast);
+
+    assertThat(metrics).hasSize(1);
+    assertThat(timingFunction.calls).isEqualTo(metrics.get(0).getFramesApplied());
+  }
+
+  @Test
+  public void targetCanJoinMidFlight() {
+    ShadowLooper.pauseMainLooper();
+    FloatTween tween = new FloatTween(TweenProperty.TRANSLATION_X, 100, 50f);
+    runtime.addPlan(new BroadcastTween<>(tween), broadcast);
+
+    View joined = new View(context);
+    joined.setTranslationX(-20f);
+    broadcast.add(joined);
+    ShadowLooper.unPauseMainLooper();
+
+    assertThat(joined.getTranslationX()).isWithin(0f).of(50f);
+  }
+
+  @Test
+  public void targetCanLeaveMidFlight() {
+    ShadowLooper.pauseMainLooper();
+    View left = broadcast.get(3);
+    left.setAlpha(.5f);
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f);
+    runtime.addPlan(new BroadcastTween<>(tween), broadcast);
+
+    assertThat(broadcast.remove(left)).isTrue();
+    ShadowLooper.unPauseMainLooper();
+
+    assertThat(left.getAlpha()).isWithin(0f).of(.5f);
+    for (int i = 0; i < broadcast.size(); i++) {
+      assertThat(broadcast.get(i).getAlpha()).isWithin(0f).of(0f);
+    }
+  }
+
+  @Test
+  public void detachedTargetEndsWhileOthersRun() {
+    Activity activity = Robolectric.setupActivity(Activity.class);
+    FrameLayout root = new FrameLayout(activity);
+    activity.setContentView(root);
+    TweenBroadcast<View> attached = new TweenBroadcast<>();
+    for (int i = 0; i < 3; i++) {
+      View view = new View(activity);
+      root.addView(view);
+      attached.add(view);
+    }
+    View detached = attached.get(1);
+
+    ShadowLooper.pauseMainLooper();
+    FloatTween tween = new FloatTween(TweenProperty.TRANSLATION_X, 100, 10f, 50f);
+    runtime.addPlan(new BroadcastTween<>(tween), attached);
+    root.removeView(detached);
+
+    assertThat(detached.getTranslationX()).isWithin(0f).of(50f);
+    assertThat(attached.get(0).getTranslationX()).isWithin(0f).of(10f);
+
+    // The tween no longer writes to the detached target.
+    detached.setTranslationX(-20f);
+    ShadowLooper.unPauseMainLooper();
+
+    assertThat(detached.getTranslationX()).isWithin(0f).of(-20f);
+    assertThat(attached.get(0).getTranslationX()).isWithin(0f).of(50f);
+    assertThat(attached.get(2).getTranslationX()).isWithin(0f).of(50f);
+  }
+
+  @Test
+  public void culledReversedTweenAppliesFinalValueOnly() {
+    // The targets are not attached, so every frame before the last one is culled.
+    FloatTween tween = new FloatTween(TweenProperty.TRANSLATION_X, 100, 10f, 50f);
+    tween.repeatCount = 1;
+    tween.repeatMode = BaseTween.REVERSE;
+    tween.cullWhenInvisible = true;
+
+    runtime.addPlan(new BroadcastTween<>(tween), broadcast);
+
+    // The tween ends where it started, and skips its turnaround at the last keyframe.
+    for (int i = 0; i < broadcast.size(); i++) {
+      assertThat(broadcast.get(i).getTranslationX()).isWithin(0f).of(10f);
+    }
+  }
+
+  @Test
+  public void culledReversedObjectTweenAppliesFinalValueOnly() {
+    Tween<Integer> tween = new Tween<>(TweenProperty.BACKGROUND_COLOR, 100, Color.RED, Color.BLUE);
+    tween.repeatCount = 1;
+    tween.repeatMode = BaseTween.REVERSE;
+    tween.cullWhenInvisible = true;
+
+    runtime.addPlan(new BroadcastTween<>(tween), broadcast);
+
+    for (int i = 0; i < broadcast.size(); i++) {
+      assertThat(TweenProperty.BACKGROUND_COLOR.property.get(broadcast.get(i)))
+        .isEqualTo(Color.RED);
+    }
+  }
+
+  @Test
+  public void addingTargetTwiceHasNoEffect() {
+    View view = broadcast.get(0);
+    broadcast.add(view);
+
+    assertThat(broadcast.size()).isEqualTo(10);
+  }
+
+  private static class CountingInterpolator implements TimeInterpolator {
+
+    private int calls;
+
+    @Override
+    public float getInterpolation(float input) {
+      calls++;
+      return input;
+    }
+  }
+}
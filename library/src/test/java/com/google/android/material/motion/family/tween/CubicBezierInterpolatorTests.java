@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class CubicBezierInterpolatorTests {
+
+  @Test
+  public void straightCurveIsLinear() {
+    CubicBezierInterpolator curve = new CubicBezierInterpolator(1f / 3, 1f / 3, 2f / 3, 2f / 3);
+
+    for (float input = 0f; input <= 1f; input += .05f) {
+      assertThat(curve.getInterpolation(input)).isWithin(1e-4f).of(input);
+    }
+  }
+
+  @Test
+  public void symmetricCurvePassesThroughMiddle() {
+    CubicBezierInterpolator curve = new CubicBezierInterpolator(.42f, 0f, .58f, 1f);
+
+    assertThat(curve.getInterpolation(.5f)).isWithin(1e-4f).of(.5f);
+    assertThat(curve.getInterpolation(.25f) + curve.getInterpolation(.75f))
+      .isWithin(1e-4f).of(1f);
+  }
+
+  @Test
+  public void curveIsMonotonicAndEndsAtEndpoints() {
+    CubicBezierInterpolator curve = new CubicBezierInterpolator(.4f, 0f, .2f, 1f);
+
+    assertThat(curve.getInterpolation(0f)).isWithin(0f).of(0f);
+    assertThat(curve.getInterpolation(1f)).isWithin(0f).of(1f);
+    float previous = 0f;
+    for (float input = .01f; input < 1f; input += .01f) {
+      float output = curve.getInterpolation(input);
+      assertThat(output).isAtLeast(previous);
+      previous = output;
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsControlPointsOutsideOfTime() {
+    new CubicBezierInterpolator(1.5f, 0f, .5f, 1f);
+  }
+}
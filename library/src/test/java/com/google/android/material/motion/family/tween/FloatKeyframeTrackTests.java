@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.view.animation.AccelerateInterpolator;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class FloatKeyframeTrackTests {
+
+  @Test
+  public void evenlySpacesKeyframes() {
+    FloatKeyframeTrack track =
+      FloatKeyframeTrack.create(new FloatTween(TweenProperty.ALPHA, 300, 0f, 10f, 30f));
+
+    assertThat(track.getValue(0f, 0f)).isWithin(1e-5f).of(0f);
+    assertThat(track.getValue(.25f, 0f)).isWithin(1e-5f).of(5f);
+    assertThat(track.getValue(.5f, 0f)).isWithin(1e-5f).of(10f);
+    assertThat(track.getValue(.75f, 0f)).isWithin(1e-5f).of(20f);
+    assertThat(track.getValue(1f, 0f)).isWithin(1e-5f).of(30f);
+  }
+
+  @Test
+  public void honorsOffsets() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 300, 0f, 10f, 30f);
+    tween.offsets = new float[]{0f, .75f, 1f};
+    FloatKeyframeTrack track = FloatKeyframeTrack.create(tween);
+
+    assertThat(track.getValue(.375f, 0f)).isWithin(1e-5f).of(5f);
+    assertThat(track.getValue(.875f, 0f)).isWithin(1e-5f).of(20f);
+  }
+
+  @Test
+  public void appliesInterTimingFunctions() {
+    TimeInterpolator accelerate = new AccelerateInterpolator();
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 300, 0f, 10f, 30f);
+    tween.interTimingFunctions = new TimeInterpolator[]{null, accelerate};
+    FloatKeyframeTrack track = FloatKeyframeTrack.create(tween);
+
+    assertThat(track.getValue(.25f, 0f)).isWithin(1e-5f).of(5f);
+    assertThat(track.getValue(.75f, 0f))
+      .isWithin(1e-5f).of(10f + 20f * accelerate.getInterpolation(.5f));
+  }
+
+  @Test
+  public void implicitFromUsesGivenValue() {
+    FloatKeyframeTrack track =
+      FloatKeyframeTrack.create(new FloatTween(TweenProperty.ALPHA, 300, 10f));
+
+    assertThat(track.implicitFrom).isTrue();
+    assertThat(track.getValue(0f, 4f)).isWithin(1e-5f).of(4f);
+    assertThat(track.getValue(.5f, 4f)).isWithin(1e-5f).of(7f);
+    assertThat(track.getValue(1f, 4f)).isWithin(1e-5f).of(10f);
+  }
+
+  @Test
+  public void extrapolatesOutsideOfKeyframes() {
+    FloatKeyframeTrack track =
+      FloatKeyframeTrack.create(new FloatTween(TweenProperty.ALPHA, 300, 0f, 10f, 30f));
+
+    assertThat(track.getValue(-.25f, 0f)).isWithin(1e-5f).of(-5f);
+    assertThat(track.getValue(1.25f, 0f)).isWithin(1e-5f).of(40f);
+  }
+}
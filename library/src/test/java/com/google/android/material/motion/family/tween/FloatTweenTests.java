@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.app.Activity;
+import android.view.View;
+import android.view.animation.AccelerateInterpolator;
+import android.view.animation.AnticipateInterpolator;
+
+import com.google.android.material.motion.runtime.MotionRuntime;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class FloatTweenTests {
+
+  private MotionRuntime runtime;
+  private View view;
+
+  @Before
+  public void setUp() {
+    runtime = new MotionRuntime();
+    view = new View(Robolectric.setupActivity(Activity.class));
+  }
+
+  @Test
+  public void floatTweenChangesTargetValue() {
+    view.setAlpha(1f);
+
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 300, 1f, 0f);
+    runtime.addPlan(tween, view);
+
+    assertThat(view.getAlpha()).isWithin(0f).of(0f);
+  }
+
+  @Test
+  public void floatTweenCanHaveImplicitFrom() {
+    view.setTranslationX(10f);
+
+    FloatTween tween = new FloatTween(TweenProperty.TRANSLATION_X, 300, 20f);
+    runtime.addPlan(tween, view);
+
+    assertThat(view.getTranslationX()).isWithin(0f).of(20f);
+  }
+
+  @Test
+  public void implicitFromIsReadBeforeFirstFrame() {
+    final List<Float> values = new ArrayList<>();
+    FloatTweenProperty<View> property = new FloatTweenProperty<View>("recorded") {
+      @Override
+      public void setValue(View object, float value) {
+        values.add(value);
+        object.setTranslationX(value);
+      }
+
+      @Override
+      public float getValue(View object) {
+        return object.getTranslationX();
+      }
+    };
+    view.setTranslationX(10f);
+
+    runtime.addPlan(new FloatTween(property, 300, 20f), view);
+
+    assertThat(values.get(0)).isWithin(0f).of(10f);
+  }
+
+  @Test
+  public void floatKeyframeApiChangesTargetValue() {
+    FloatTween tween = new FloatTween(TweenProperty.SCALE, 300, 1f, .5f, 0f);
+    tween.offsets = new float[]{0f, .25f, 1f};
+    tween.interTimingFunctions = new TimeInterpolator[]{
+      new AccelerateInterpolator(), new AnticipateInterpolator()
+    };
+    runtime.addPlan(tween, view);
+
+    assertThat(view.getScaleX()).isWithin(0f).of(0f);
+    assertThat(view.getScaleY()).isWithin(0f).of(0f);
+  }
+
+  @Test
+  public void floatPropertyCanBeUsedWithBoxedTween() {
+    view.setRotation(0f);
+
+    Tween<Float> tween = new Tween<>(TweenProperty.ROTATION, 300, 0f, 90f);
+    runtime.addPlan(tween, view);
+
+    assertThat(view.getRotation()).isWithin(0f).of(90f);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidValuesLength() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 300);
+
+    runtime.addPlan(tween, view);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidOffsetsLength() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 300, 1f, .5f, 0f);
+    tween.offsets = new float[2];
+
+    runtime.addPlan(tween, view);
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TypeEvaluator;
+import android.graphics.PointF;
+import android.graphics.RectF;
+import android.util.Property;
+import android.view.animation.LinearInterpolator;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class InPlaceEvaluatorsTests {
+
+  /**
+   * The bounds of a {@link Target}. The getter returns the target's own rectangle.
+   */
+  private static final TweenProperty<Target, RectF> BOUNDS = new TweenProperty<>(
+    new Property<Target, RectF>(RectF.class, "bounds") {
+      @Override
+      public RectF get(Target object) {
+        return object.bounds;
+      }
+
+      @Override
+      public void set(Target object, RectF value) {
+        object.bounds.set(value);
+        object.applied.add(value);
+      }
+    }, InPlaceEvaluators.RECT_F);
+
+  @Test
+  public void pointInterpolatesEachCoordinate() {
+    PointF out = InPlaceEvaluators.POINT_F.createValue(null);
+
+    InPlaceEvaluators.POINT_F.evaluate(.25f, new PointF(0f, 10f), new PointF(100f, 30f), out);
+
+    assertThat(out.x).isWithin(1e-5f).of(25f);
+    assertThat(out.y).isWithin(1e-5f).of(15f);
+  }
+
+  @Test
+  public void rectInterpolatesEachEdge() {
+    RectF out = InPlaceEvaluators.RECT_F.createValue(null);
+
+    InPlaceEvaluators.RECT_F.evaluate(
+      .5f, new RectF(0f, 0f, 10f, 10f), new RectF(10f, 20f, 30f, 40f), out);
+
+    assertThat(out).isEqualTo(new RectF(5f, 10f, 20f, 25f));
+  }
+
+  @Test
+  public void floatArrayMatchesLengthOfTemplate() {
+    float[] end = new float[]{10f, 20f, 30f};
+    float[] out = InPlaceEvaluators.FLOAT_ARRAY.createValue(end);
+
+    InPlaceEvaluators.FLOAT_ARRAY.evaluate(.5f, new float[3], end, out);
+
+    assertThat(out).hasValuesWithin(1e-5f).of(new float[]{5f, 10f, 15f});
+  }
+
+  @Test
+  public void allocatingEvaluatorReturnsNewValues() {
+    TypeEvaluator<PointF> evaluator = InPlaceEvaluators.allocating(InPlaceEvaluators.POINT_F);
+    PointF start = new PointF(0f, 0f);
+    PointF end = new PointF(10f, 10f);
+
+    PointF first = evaluator.evaluate(.5f, start, end);
+    PointF second = evaluator.evaluate(.5f, start, end);
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(second).isEqualTo(first);
+  }
+
+  @Test
+  public void runningTweenReusesOneValue() {
+    Target target = new Target();
+    RectF from = new RectF(0f, 0f, 10f, 10f);
+    RectF to = new RectF(10f, 10f, 30f, 30f);
+    ManualTweenClock clock = new ManualTweenClock();
+    TweenTimeline<Target> timeline = new TweenTimeline<>(createTween(from, to), clock);
+
+    clock.setTimeMillis(50);
+    timeline.apply(target);
+    assertThat(target.bounds).isEqualTo(new RectF(5f, 5f, 20f, 20f));
+
+    clock.setTimeMillis(100);
+    timeline.apply(target);
+    assertThat(target.bounds).isEqualTo(to);
+
+    assertThat(target.applied.get(1)).isSameAs(target.applied.get(0));
+    assertThat(from).isEqualTo(new RectF(0f, 0f, 10f, 10f));
+    assertThat(to).isEqualTo(new RectF(10f, 10f, 30f, 30f));
+  }
+
+  @Test
+  public void implicitFromIsNotModifiedThroughTarget() {
+    Target target = new Target();
+    target.bounds.set(0f, 0f, 10f, 10f);
+    ManualTweenClock clock = new ManualTweenClock();
+    TweenTimeline<Target> timeline =
+      new TweenTimeline<>(createTween(new RectF(10f, 10f, 30f, 30f)), clock);
+
+    clock.setTimeMillis(50);
+    timeline.apply(target);
+    clock.setTimeMillis(75);
+    timeline.apply(target);
+
+    assertThat(target.bounds).isEqualTo(new RectF(7.5f, 7.5f, 25f, 25f));
+  }
+
+  private static ObjectTween<Target, RectF> createTween(RectF... values) {
+    ObjectTween<Target, RectF> tween = new ObjectTween<>(BOUNDS, 100, values);
+    tween.timingFunction = new LinearInterpolator();
+    return tween;
+  }
+
+  private static class Target {
+
+    final RectF bounds = new RectF();
+    final List<RectF> applied = new ArrayList<>();
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.graphics.Color;
+import android.view.animation.AccelerateInterpolator;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Random;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class KeyframeTrackTests {
+
+  @Test
+  public void compileCachesTrackByPlan() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 300, 0f, 1f);
+
+    assertThat(KeyframeTrack.compile(tween)).isSameAs(KeyframeTrack.compile(tween));
+  }
+
+  @Test
+  public void compileSharesTrackWithPlanClones() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 300, 0f, 1f);
+    FloatTween clone = (FloatTween) tween.clone();
+
+    assertThat(KeyframeTrack.compile(clone)).isSameAs(KeyframeTrack.compile(tween));
+  }
+
+  @Test
+  public void compileDoesNotShareTracksBetweenPlans() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 300, 0f, 1f);
+    FloatTween other = new FloatTween(TweenProperty.ALPHA, 300, 0f, 1f);
+
+    assertThat(KeyframeTrack.compile(tween)).isNotSameAs(KeyframeTrack.compile(other));
+  }
+
+  @Test
+  public void changingValuesInvalidatesTrack() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 300, 0f, 1f);
+    KeyframeTrack track = KeyframeTrack.compile(tween);
+
+    tween.values[1] = .5f;
+    FloatKeyframeTrack recompiled = (FloatKeyframeTrack) KeyframeTrack.compile(tween);
+
+    assertThat(recompiled).isNotSameAs(track);
+    assertThat(recompiled.getValue(1f, 0f)).isWithin(0f).of(.5f);
+  }
+
+  @Test
+  public void changingTimingInvalidatesTrack() {
+    Tween<Integer> tween = new Tween<>(TweenProperty.BACKGROUND_COLOR, 300, Color.RED, Color.BLUE);
+    KeyframeTrack track = KeyframeTrack.compile(tween);
+
+    tween.interTimingFunctions = new TimeInterpolator[]{new AccelerateInterpolator()};
+
+    assertThat(KeyframeTrack.compile(tween)).isNotSameAs(track);
+  }
+
+  @Test
+  public void changingDurationKeepsTrack() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 300, 0f, 1f);
+    KeyframeTrack track = KeyframeTrack.compile(tween);
+
+    tween.duration = 500;
+    tween.delay = 100;
+
+    assertThat(KeyframeTrack.compile(tween)).isSameAs(track);
+  }
+
+  @Test
+  public void boxedTweenOfFloatPropertyCompilesToFloatTrack() {
+    Tween<Float> tween = new Tween<>(TweenProperty.ALPHA, 300, 0f, 1f);
+
+    assertThat(KeyframeTrack.compile(tween)).isInstanceOf(FloatKeyframeTrack.class);
+  }
+
+  @Test
+  public void boxedTweenOfObjectPropertyCompilesToObjectTrack() {
+    Tween<Integer> tween = new Tween<>(TweenProperty.BACKGROUND_COLOR, 300, Color.RED);
+
+    assertThat(KeyframeTrack.compile(tween)).isInstanceOf(ObjectKeyframeTrack.class);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void compileValidatesPlan() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 300, 0f, 1f);
+    KeyframeTrack.compile(tween);
+
+    tween.offsets = new float[3];
+    KeyframeTrack.compile(tween);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void compileRejectsDescendingOffsets() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 300, 0f, .5f, 1f);
+    tween.offsets = new float[]{0f, .75f, .5f};
+
+    KeyframeTrack.compile(tween);
+  }
+
+  @Test
+  public void findSegmentMatchesLinearScan() {
+    int count = 1000;
+    float[] offsets = new float[count];
+    for (int i = 0; i < count; i++) {
+      // Every tenth keyframe shares the offset of the previous one.
+      offsets[i] = (float) (i % 10 == 9 ? i - 1 : i) / (count - 1);
+    }
+    offsets[count - 1] = 1f;
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 300, new float[count]);
+    tween.offsets = offsets;
+    KeyframeTrack track = KeyframeTrack.compile(tween);
+
+    for (float fraction = -.1f; fraction < 1.1f; fraction += .0001f) {
+      assertThat(track.findSegment(fraction)).isEqualTo(scanSegment(offsets, fraction));
+    }
+    for (float fraction = 1.1f; fraction > -.1f; fraction -= .0001f) {
+      assertThat(track.findSegment(fraction)).isEqualTo(scanSegment(offsets, fraction));
+    }
+    Random random = new Random(0);
+    for (int i = 0; i < 10000; i++) {
+      float fraction = random.nextFloat();
+      assertThat(track.findSegment(fraction)).isEqualTo(scanSegment(offsets, fraction));
+    }
+    for (float offset : offsets) {
+      assertThat(track.findSegment(offset)).isEqualTo(scanSegment(offsets, offset));
+    }
+  }
+
+  private static int scanSegment(float[] fractions, float fraction) {
+    int last = fractions.length - 2;
+    for (int i = 0; i < last; i++) {
+      if (fraction < fractions[i + 1]) {
+        return i;
+      }
+    }
+    return last;
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.LinearInterpolator;
+import android.view.animation.OvershootInterpolator;
+
+import java.lang.ref.WeakReference;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class LookupTableInterpolatorTests {
+
+  @Test
+  public void staysWithinErrorBound() {
+    TimeInterpolator source = new AccelerateDecelerateInterpolator();
+    LookupTableInterpolator table = LookupTableInterpolator.create(source, .001f);
+
+    assertThat(table.measureError()).isAtMost(.001f);
+    for (int i = 0; i <= 1000; i++) {
+      float input = i / 1000f;
+      assertThat(table.getInterpolation(input))
+        .isWithin(.001f).of(source.getInterpolation(input));
+    }
+  }
+
+  @Test
+  public void tighterErrorBoundIncreasesResolution() {
+    TimeInterpolator source = new AccelerateDecelerateInterpolator();
+
+    assertThat(LookupTableInterpolator.create(source, .00001f).getResolution())
+      .isGreaterThan(LookupTableInterpolator.create(source, .01f).getResolution());
+  }
+
+  @Test
+  public void endpointsAreExact() {
+    TimeInterpolator source = new OvershootInterpolator();
+    LookupTableInterpolator table = new LookupTableInterpolator(source, 8);
+
+    assertThat(table.getInterpolation(0f)).isWithin(0f).of(source.getInterpolation(0f));
+    assertThat(table.getInterpolation(1f)).isWithin(0f).of(source.getInterpolation(1f));
+  }
+
+  @Test
+  public void inputsOutsideOfTableUseSource() {
+    TimeInterpolator source = new AccelerateDecelerateInterpolator();
+    LookupTableInterpolator table = new LookupTableInterpolator(source, 2);
+
+    assertThat(table.getInterpolation(1.5f)).isWithin(0f).of(source.getInterpolation(1.5f));
+    assertThat(table.getInterpolation(-.5f)).isWithin(0f).of(source.getInterpolation(-.5f));
+  }
+
+  @Test
+  public void tablesAreSharedPerInterpolator() {
+    TimeInterpolator source = new AccelerateDecelerateInterpolator();
+
+    assertThat(LookupTableInterpolator.of(source)).isSameAs(LookupTableInterpolator.of(source));
+  }
+
+  @Test
+  public void releasesSharedTableOfUnreachableInterpolator() throws InterruptedException {
+    int cached = LookupTableInterpolator.getCacheSize();
+    WeakReference<TimeInterpolator> source = sampleNewInterpolator();
+    assertThat(LookupTableInterpolator.getCacheSize()).isEqualTo(cached + 1);
+
+    // Stale entries are removed once their cleared keys have been enqueued. Entries of earlier
+    // tests may be removed too.
+    for (int i = 0; i < 20 && LookupTableInterpolator.getCacheSize() > cached; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+
+    assertThat(source.get()).isNull();
+    assertThat(LookupTableInterpolator.getCacheSize()).isAtMost(cached);
+  }
+
+  @Test
+  public void sharedTableExtrapolatesOnceInterpolatorIsCollected() {
+    LookupTableInterpolator table = LookupTableInterpolator.of(new OvershootInterpolator());
+    WeakReference<TimeInterpolator> source = new WeakReference<>(table.getSource());
+
+    for (int i = 0; i < 20 && source.get() != null; i++) {
+      System.gc();
+    }
+
+    assertThat(source.get()).isNull();
+    float end = table.getInterpolation(1f);
+    float slope = (end - table.getInterpolation(.99f)) / .01f;
+    assertThat(table.getInterpolation(1.1f)).isWithin(.01f).of(end + .1f * slope);
+  }
+
+  private static WeakReference<TimeInterpolator> sampleNewInterpolator() {
+    TimeInterpolator source = new AccelerateDecelerateInterpolator();
+    LookupTableInterpolator.sample(source);
+    return new WeakReference<>(source);
+  }
+
+  @Test
+  public void samplesFrameworkInterpolatorsAutomatically() {
+    TimeInterpolator framework = new AccelerateDecelerateInterpolator();
+    TimeInterpolator linear = new LinearInterpolator();
+    TimeInterpolator custom = new TimeInterpolator() {
+      @Override
+      public float getInterpolation(float input) {
+        return input * input;
+      }
+    };
+
+    assertThat(LookupTableInterpolator.sample(framework))
+      .isSameAs(LookupTableInterpolator.of(framework));
+    assertThat(LookupTableInterpolator.sample(linear)).isSameAs(linear);
+    assertThat(LookupTableInterpolator.sample(custom)).isSameAs(custom);
+  }
+}
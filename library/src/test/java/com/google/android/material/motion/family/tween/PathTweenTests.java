@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.app.Activity;
+import android.graphics.Path;
+import android.graphics.PointF;
+import android.view.View;
+import android.view.animation.LinearInterpolator;
+
+import com.google.android.material.motion.runtime.MotionRuntime;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class PathTweenTests {
+
+  /**
+   * An L shaped path from (0, 0) to (10, 0) to (10, 10), sampled every 10 pixels.
+   */
+  private PathLookupTable table;
+  private View view;
+
+  @Before
+  public void setUp() {
+    table = new PathLookupTable(new float[]{0f, 10f, 10f}, new float[]{0f, 0f, 10f});
+    view = new View(Robolectric.setupActivity(Activity.class));
+  }
+
+  @Test
+  public void tableInterpolatesBetweenSamples() {
+    PointF point = table.getPoint(.25f, new PointF());
+
+    assertThat(point.x).isWithin(1e-5f).of(5f);
+    assertThat(point.y).isWithin(1e-5f).of(0f);
+
+    table.getPoint(.75f, point);
+
+    assertThat(point.x).isWithin(1e-5f).of(10f);
+    assertThat(point.y).isWithin(1e-5f).of(5f);
+  }
+
+  @Test
+  public void tableExtrapolatesOutsideOfPath() {
+    PointF point = table.getPoint(1.25f, new PointF());
+
+    assertThat(point.x).isWithin(1e-5f).of(10f);
+    assertThat(point.y).isWithin(1e-5f).of(15f);
+
+    table.getPoint(-.25f, point);
+
+    assertThat(point.x).isWithin(1e-5f).of(-5f);
+  }
+
+  @Test
+  public void evaluatorWritesIntoOutputPoint() {
+    PointF out = table.createValue(null);
+
+    table.evaluate(.75f, null, null, out);
+
+    assertThat(out.x).isWithin(1e-5f).of(10f);
+    assertThat(out.y).isWithin(1e-5f).of(5f);
+  }
+
+  @Test
+  public void tablesAreCachedByPath() {
+    Path path = new Path();
+
+    assertThat(PathLookupTable.of(path)).isSameAs(PathLookupTable.of(path));
+  }
+
+  @Test
+  public void tweenMovesTargetToEndOfPath() {
+    PathTween<View> tween = new PathTween<>(TweenProperty.TRANSLATION, 300, table);
+    new MotionRuntime().addPlan(tween, view);
+
+    assertThat(view.getTranslationX()).isWithin(1e-5f).of(10f);
+    assertThat(view.getTranslationY()).isWithin(1e-5f).of(10f);
+  }
+
+  @Test
+  public void trackFollowsPathByDistance() {
+    PathTween<View> tween = new PathTween<>(TweenProperty.TRANSLATION, 300, table);
+    ObjectKeyframeTrack<PointF> track = (ObjectKeyframeTrack<PointF>) KeyframeTrack.compile(tween);
+
+    PointF point = track.getValue(.5f, null);
+
+    assertThat(point.x).isWithin(1e-5f).of(10f);
+    assertThat(point.y).isWithin(1e-5f).of(0f);
+  }
+
+  @Test
+  public void bakedPathKeepsEverySample() {
+    PathTween<View> tween = new PathTween<>(TweenProperty.TRANSLATION, 100, table);
+    tween.timingFunction = new LinearInterpolator();
+    tween.bakeInterval = 50;
+
+    BakedTrack baked = BakedTrack.bake(tween);
+
+    PointF start = (PointF) baked.getValue(0f);
+    PointF middle = (PointF) baked.getValue(.5f);
+    PointF end = (PointF) baked.getValue(1f);
+    assertThat(start.x).isWithin(1e-5f).of(0f);
+    assertThat(middle.x).isWithin(1e-5f).of(10f);
+    assertThat(middle.y).isWithin(1e-5f).of(0f);
+    assertThat(end.y).isWithin(1e-5f).of(10f);
+  }
+}
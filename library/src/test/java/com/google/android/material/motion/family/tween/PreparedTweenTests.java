@@ -0,0 +1,169 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.View;
+
+import com.google.android.material.motion.runtime.MotionRuntime;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class PreparedTweenTests {
+
+  private MotionRuntime runtime;
+  private Context context;
+  private View view;
+
+  @Before
+  public void setUp() {
+    runtime = new MotionRuntime();
+    context = Robolectric.setupActivity(Activity.class);
+    view = new View(context);
+  }
+
+  @After
+  public void tearDown() {
+    TweenPerformer.setSharedEngineEnabled(false);
+  }
+
+  @Test
+  public void preparedTweenChangesTargetValue() {
+    PreparedTween<View> prepared =
+      PreparedTween.prepare(new FloatTween(TweenProperty.ALPHA, 300, 1f, 0f));
+    runtime.addPlan(prepared, view);
+
+    assertThat(view.getAlpha()).isWithin(0f).of(0f);
+  }
+
+  @Test
+  public void tweenCanBePreparedOnWorkerThread() throws InterruptedException {
+    final Tween<Float> tween = new Tween<>(TweenProperty.TRANSLATION_X, 300, 0f, 40f);
+    tween.bakeInterval = 16;
+    final List<PreparedTween<View>> prepared = new ArrayList<>();
+    Thread worker = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        prepared.add(PreparedTween.prepare(tween));
+      }
+    });
+    worker.start();
+    worker.join();
+
+    assertThat(prepared.get(0).baked).isNotNull();
+    runtime.addPlan(prepared.get(0), view);
+
+    assertThat(view.getTranslationX()).isWithin(0f).of(40f);
+  }
+
+  @Test
+  public void preparingCopiesPlan() {
+    FloatTween tween = new FloatTween(TweenProperty.TRANSLATION_Y, 300, 0f, 10f);
+    PreparedTween<View> prepared = PreparedTween.prepare(tween);
+    tween.values[1] = 20f;
+
+    runtime.addPlan(prepared, view);
+
+    assertThat(view.getTranslationY()).isWithin(0f).of(10f);
+  }
+
+  @Test
+  public void preparedTweenCanBeAddedToManyTargets() {
+    View other = new View(context);
+    PreparedTween<View> prepared =
+      PreparedTween.prepare(new FloatTween(TweenProperty.ROTATION, 300, 0f, 90f));
+    ShadowLooper.pauseMainLooper();
+    runtime.addPlan(prepared, view);
+    runtime.addPlan(prepared, other);
+    ShadowLooper.unPauseMainLooper();
+
+    assertThat(view.getRotation()).isWithin(0f).of(90f);
+    assertThat(other.getRotation()).isWithin(0f).of(90f);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void prepareValidatesPlan() {
+    PreparedTween.prepare(new FloatTween(TweenProperty.ALPHA, 300));
+  }
+
+  @Test
+  public void animatorTweensApplyInOrderAdded() {
+    assertTweensApplyInOrderAdded();
+  }
+
+  @Test
+  public void engineTweensApplyInOrderAdded() {
+    TweenPerformer.setSharedEngineEnabled(true);
+    assertTweensApplyInOrderAdded();
+  }
+
+  private void assertTweensApplyInOrderAdded() {
+    List<String> log = new ArrayList<>();
+    PreparedTween<View> first =
+      PreparedTween.prepare(new FloatTween(new LoggingProperty("first", log), 100, 0f, 1f));
+    PreparedTween<View> second =
+      PreparedTween.prepare(new FloatTween(new LoggingProperty("second", log), 100, 0f, 1f));
+
+    ShadowLooper.pauseMainLooper();
+    runtime.addPlan(second, new View(context));
+    runtime.addPlan(first, new View(context));
+    ShadowLooper.unPauseMainLooper();
+
+    assertThat(log).isNotEmpty();
+    assertThat(log.size() % 2).isEqualTo(0);
+    for (int i = 0; i < log.size(); i += 2) {
+      assertThat(log.get(i)).isEqualTo("second");
+      assertThat(log.get(i + 1)).isEqualTo("first");
+    }
+  }
+
+  private static class LoggingProperty extends FloatTweenProperty<View> {
+
+    private final String name;
+    private final List<String> log;
+
+    private LoggingProperty(String name, List<String> log) {
+      super(name);
+      this.name = name;
+      this.log = log;
+    }
+
+    @Override
+    public void setValue(View object, float value) {
+      log.add(name);
+    }
+
+    @Override
+    public float getValue(View object) {
+      return 0f;
+    }
+  }
+}
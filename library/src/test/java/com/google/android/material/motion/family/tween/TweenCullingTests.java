@@ -0,0 +1,153 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.app.Activity;
+import android.graphics.Rect;
+import android.view.View;
+import android.view.animation.LinearInterpolator;
+import android.widget.FrameLayout;
+
+import com.google.android.material.motion.runtime.PerformerFeatures.ContinuousPerforming.IsActiveToken;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class TweenCullingTests {
+
+  private static final TimeInterpolator LINEAR = new LinearInterpolator();
+
+  private FrameLayout root;
+  private View view;
+  private TweenEngine engine;
+  private CountingToken token;
+
+  @Before
+  public void setUp() {
+    Activity activity = Robolectric.setupActivity(Activity.class);
+    root = new FrameLayout(activity);
+    view = new View(activity);
+    root.addView(view, new FrameLayout.LayoutParams(100, 100));
+    activity.setContentView(root);
+    root.layout(0, 0, 200, 200);
+    view.layout(0, 0, 100, 100);
+
+    engine = new TweenEngine() {
+      @Override
+      void scheduleFrame() {
+        // No-op.
+      }
+    };
+    token = new CountingToken();
+  }
+
+  @Test
+  public void laidOutViewIsVisible() {
+    assertThat(TweenCulling.isVisible(view)).isTrue();
+  }
+
+  @Test
+  public void goneViewIsNotVisible() {
+    view.setVisibility(View.GONE);
+
+    assertThat(TweenCulling.isVisible(view)).isFalse();
+  }
+
+  @Test
+  public void detachedViewIsNotVisible() {
+    root.removeView(view);
+
+    assertThat(TweenCulling.isVisible(view)).isFalse();
+  }
+
+  @Test
+  public void scrolledOutViewIsNotVisible() {
+    // Robolectric does not clip views to their parents, so fake the result of the clipping.
+    shadowOf(view).setGlobalVisibleRect(new Rect());
+
+    assertThat(TweenCulling.isVisible(view)).isFalse();
+  }
+
+  @Test
+  public void targetsThatAreNotViewsAreVisible() {
+    assertThat(TweenCulling.isVisible(new Object())).isTrue();
+  }
+
+  @Test
+  public void skipsFramesWhileInvisibleAndCatchesUp() {
+    view.setAlpha(1f);
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, .5f);
+    tween.timingFunction = LINEAR;
+    tween.cullWhenInvisible = true;
+    engine.add(view, PreparedTween.prepare(tween), 0f, token, null);
+
+    view.setVisibility(View.INVISIBLE);
+    engine.doFrame(1000);
+    engine.doFrame(1040);
+    assertThat(view.getAlpha()).isWithin(0f).of(1f);
+
+    view.setVisibility(View.VISIBLE);
+    engine.doFrame(1060);
+    assertThat(view.getAlpha()).isWithin(1e-5f).of(.3f);
+  }
+
+  @Test
+  public void appliesFinalValueAndTerminatesTokenWhileInvisible() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, .5f);
+    tween.cullWhenInvisible = true;
+    engine.add(view, PreparedTween.prepare(tween), 0f, token, null);
+
+    view.setVisibility(View.GONE);
+    engine.doFrame(1000);
+    engine.doFrame(1100);
+
+    assertThat(view.getAlpha()).isWithin(0f).of(.5f);
+    assertThat(token.terminated).isEqualTo(1);
+  }
+
+  @Test
+  public void appliesEveryFrameWithoutCulling() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, .5f);
+    tween.timingFunction = LINEAR;
+    engine.add(view, PreparedTween.prepare(tween), 0f, token, null);
+
+    view.setVisibility(View.GONE);
+    engine.doFrame(1000);
+    engine.doFrame(1050);
+
+    assertThat(view.getAlpha()).isWithin(1e-5f).of(.25f);
+  }
+
+  private static class CountingToken implements IsActiveToken {
+
+    private int terminated;
+
+    @Override
+    public void terminate() {
+      terminated++;
+    }
+  }
+}
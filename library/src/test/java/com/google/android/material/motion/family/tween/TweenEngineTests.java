@@ -0,0 +1,407 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.app.Activity;
+import android.graphics.Color;
+import android.view.View;
+import android.view.animation.LinearInterpolator;
+
+import com.google.android.material.motion.runtime.PerformerFeatures.ContinuousPerforming.IsActiveToken;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class TweenEngineTests {
+
+  private static final TimeInterpolator LINEAR = new LinearInterpolator();
+
+  private TweenEngine engine;
+  private View target;
+  private CountingToken token;
+
+  @Before
+  public void setUp() {
+    engine = new ManualTweenEngine();
+    target = new View(Robolectric.setupActivity(Activity.class));
+    token = new CountingToken();
+  }
+
+  @Test
+  public void appliesValueOnEveryFrame() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    tween.timingFunction = LINEAR;
+    engine.add(target, PreparedTween.prepare(tween), 0f, token, null);
+
+    engine.doFrame(1000);
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(0f);
+
+    engine.doFrame(1050);
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(.5f);
+
+    engine.doFrame(1100);
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(1f);
+    assertThat(engine.getActiveCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void honorsDelay() {
+    target.setAlpha(1f);
+
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f);
+    tween.delay = 50;
+    tween.timingFunction = LINEAR;
+    engine.add(target, PreparedTween.prepare(tween), 0f, token, null);
+
+    engine.doFrame(1000);
+    engine.doFrame(1040);
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(1f);
+
+    engine.doFrame(1100);
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(.5f);
+  }
+
+  @Test
+  public void readsImplicitFromWhenTweenStarts() {
+    target.setTranslationX(100f);
+
+    FloatTween tween = new FloatTween(TweenProperty.TRANSLATION_X, 100, 0f);
+    tween.timingFunction = LINEAR;
+    engine.add(target, PreparedTween.prepare(tween), 0f, token, null);
+
+    engine.doFrame(1000);
+    engine.doFrame(1025);
+    assertThat(target.getTranslationX()).isWithin(1e-3f).of(75f);
+  }
+
+  @Test
+  public void appliesObjectTracks() {
+    Tween<Integer> tween = new Tween<>(TweenProperty.BACKGROUND_COLOR, 100, Color.RED, Color.BLUE);
+    engine.add(target, PreparedTween.prepare(tween), 0f, token, null);
+
+    engine.doFrame(1000);
+    engine.doFrame(1100);
+
+    assertThat(TweenProperty.BACKGROUND_COLOR.property.get(target)).isEqualTo(Color.BLUE);
+  }
+
+  @Test
+  public void appliesInPlaceObjectTracks() {
+    PathTween<View> tween = new PathTween<>(TweenProperty.TRANSLATION, 100,
+      new PathLookupTable(new float[]{0f, 10f}, new float[]{0f, 20f}));
+    tween.timingFunction = LINEAR;
+    engine.add(target, PreparedTween.prepare(tween), 0f, token, null);
+
+    engine.doFrame(1000);
+    engine.doFrame(1050);
+    assertThat(target.getTranslationX()).isWithin(1e-5f).of(5f);
+    assertThat(target.getTranslationY()).isWithin(1e-5f).of(10f);
+
+    engine.doFrame(1100);
+    assertThat(target.getTranslationX()).isWithin(1e-5f).of(10f);
+    assertThat(target.getTranslationY()).isWithin(1e-5f).of(20f);
+  }
+
+  @Test
+  public void terminatesTokenOnlyWhenFinished() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    engine.add(target, PreparedTween.prepare(tween), 0f, token, null);
+
+    engine.doFrame(1000);
+    engine.doFrame(1099);
+    assertThat(token.terminated).isEqualTo(0);
+
+    engine.doFrame(1100);
+    assertThat(token.terminated).isEqualTo(1);
+  }
+
+  @Test
+  public void runsManyTweensFromOneFrame() {
+    View[] views = new View[100];
+    for (int i = 0; i < views.length; i++) {
+      views[i] = new View(target.getContext());
+      FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100 + i, 0f, 1f);
+      engine.add(views[i], PreparedTween.prepare(tween), 0f, token, null);
+    }
+
+    engine.doFrame(1000);
+    engine.doFrame(1150);
+    engine.doFrame(1200);
+
+    assertThat(engine.getActiveCount()).isEqualTo(0);
+    assertThat(token.terminated).isEqualTo(views.length);
+    for (View view : views) {
+      assertThat(view.getAlpha()).isWithin(0f).of(1f);
+    }
+  }
+
+  @Test
+  public void cancelStopsTweenAndTerminatesToken() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    tween.timingFunction = LINEAR;
+    engine.add(target, PreparedTween.prepare(tween), 0f, token, null);
+
+    engine.doFrame(1000);
+    engine.doFrame(1050);
+    float velocity = engine.cancel(target, TweenProperty.ALPHA);
+
+    assertThat(velocity).isWithin(1e-4f).of(.01f);
+    assertThat(token.terminated).isEqualTo(1);
+    assertThat(engine.getActiveCount()).isEqualTo(0);
+
+    engine.doFrame(1100);
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(.5f);
+  }
+
+  @Test
+  public void cancelIgnoresOtherProperties() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    engine.add(target, PreparedTween.prepare(tween), 0f, token, null);
+
+    engine.cancel(target, TweenProperty.SCALE);
+
+    assertThat(token.terminated).isEqualTo(0);
+    assertThat(engine.getActiveCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void carriedVelocityKeepsMotionContinuous() {
+    target.setTranslationX(0f);
+
+    FloatTween tween = new FloatTween(TweenProperty.TRANSLATION_X, 100, 0f);
+    tween.timingFunction = LINEAR;
+    engine.add(target, PreparedTween.prepare(tween), 1f, token, null);
+
+    engine.doFrame(1000);
+    engine.doFrame(1001);
+
+    // The tween's own value stays at 0, so all motion comes from the carried velocity.
+    assertThat(target.getTranslationX()).isWithin(.05f).of(1f);
+
+    engine.doFrame(1100);
+    assertThat(target.getTranslationX()).isWithin(1e-5f).of(0f);
+  }
+
+  @Test
+  public void carriedVelocityReplacesInitialSlopeOfCurve() {
+    target.setTranslationX(0f);
+
+    FloatTween tween = new FloatTween(TweenProperty.TRANSLATION_X, 100, 100f);
+    tween.timingFunction = LINEAR;
+    engine.add(target, PreparedTween.prepare(tween), .2f, token, null);
+
+    engine.doFrame(1000);
+    engine.doFrame(1001);
+
+    // The curve alone starts at 1 unit per millisecond.
+    assertThat(target.getTranslationX()).isWithin(.05f).of(.2f);
+
+    engine.doFrame(1100);
+    assertThat(target.getTranslationX()).isWithin(1e-5f).of(100f);
+  }
+
+  @Test
+  public void playsBackBakedTrack() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    tween.timingFunction = LINEAR;
+    tween.bakeInterval = 10;
+    engine.add(target, PreparedTween.prepare(tween), 0f, token, null);
+
+    engine.doFrame(1000);
+    engine.doFrame(1025);
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(.25f);
+
+    engine.doFrame(1100);
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(1f);
+  }
+
+  /**
+   * A TweenEngine whose frames are driven by the test.
+   */
+  private static class ManualTweenEngine extends TweenEngine {
+
+    @Override
+    void scheduleFrame() {
+      // No-op.
+    }
+  }
+
+  @Test
+  public void restartsRepetitions() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    tween.timingFunction = LINEAR;
+    tween.repeatCount = 2;
+    engine.add(target, PreparedTween.prepare(tween), 0f, token, null);
+
+    engine.doFrame(1000);
+    engine.doFrame(1150);
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(.5f);
+
+    engine.doFrame(1275);
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(.75f);
+    assertThat(token.terminated).isEqualTo(0);
+
+    engine.doFrame(1300);
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(1f);
+    assertThat(token.terminated).isEqualTo(1);
+    assertThat(engine.getActiveCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void reversesEveryOtherRepetition() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    tween.timingFunction = LINEAR;
+    tween.repeatCount = 1;
+    tween.repeatMode = BaseTween.REVERSE;
+    engine.add(target, PreparedTween.prepare(tween), 0f, token, null);
+
+    engine.doFrame(1000);
+    engine.doFrame(1075);
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(.75f);
+
+    engine.doFrame(1125);
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(.75f);
+
+    engine.doFrame(1200);
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(0f);
+    assertThat(token.terminated).isEqualTo(1);
+  }
+
+  @Test
+  public void repeatsInfinitelyUntilCancelled() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    tween.timingFunction = LINEAR;
+    tween.repeatCount = BaseTween.INFINITE;
+    tween.repeatMode = BaseTween.REVERSE;
+    engine.add(target, PreparedTween.prepare(tween), 0f, token, null);
+
+    engine.doFrame(1000);
+    engine.doFrame(100_050);
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(.5f);
+    assertThat(engine.getActiveCount()).isEqualTo(1);
+
+    engine.cancel(target, tween.property);
+    assertThat(token.terminated).isEqualTo(1);
+    assertThat(engine.getActiveCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void sumsAdditiveTweensWithOneSetterCall() {
+    target.setTranslationX(10f);
+    CountingProperty property = new CountingProperty();
+    FloatTween first = new FloatTween(property, 100, 0f, 100f);
+    first.timingFunction = LINEAR;
+    first.additive = true;
+    FloatTween second = new FloatTween(property, 100, 0f, 50f);
+    second.timingFunction = LINEAR;
+    second.additive = true;
+    engine.add(target, PreparedTween.prepare(first), 0f, token, null);
+    engine.add(target, PreparedTween.prepare(second), 0f, token, null);
+
+    engine.doFrame(1000);
+    engine.doFrame(1050);
+    assertThat(target.getTranslationX()).isWithin(1e-3f).of(85f);
+    assertThat(property.calls).isEqualTo(2);
+
+    engine.doFrame(1100);
+    assertThat(target.getTranslationX()).isWithin(1e-3f).of(160f);
+    assertThat(property.calls).isEqualTo(3);
+    assertThat(token.terminated).isEqualTo(2);
+  }
+
+  @Test
+  public void additiveTweenTakesOverWithoutJump() {
+    CountingProperty property = new CountingProperty();
+    FloatTween forward = new FloatTween(property, 100, 100f);
+    forward.timingFunction = LINEAR;
+    forward.additive = true;
+    engine.add(target, PreparedTween.prepare(forward), 0f, token, null);
+
+    engine.doFrame(1000);
+    engine.doFrame(1050);
+    assertThat(target.getTranslationX()).isWithin(1e-3f).of(50f);
+
+    FloatTween back = new FloatTween(property, 100, 0f);
+    back.timingFunction = LINEAR;
+    back.additive = true;
+    engine.add(target, PreparedTween.prepare(back), 0f, token, null);
+
+    engine.doFrame(1050);
+    assertThat(target.getTranslationX()).isWithin(1e-3f).of(50f);
+
+    engine.doFrame(1100);
+    assertThat(target.getTranslationX()).isWithin(1e-3f).of(50f);
+
+    engine.doFrame(1150);
+    assertThat(target.getTranslationX()).isWithin(1e-3f).of(0f);
+    assertThat(engine.getActiveCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void cancelEndsEveryAdditiveTween() {
+    CountingProperty property = new CountingProperty();
+    for (int i = 0; i < 2; i++) {
+      FloatTween tween = new FloatTween(property, 100, 0f, 10f);
+      tween.additive = true;
+      engine.add(target, PreparedTween.prepare(tween), 0f, token, null);
+    }
+    engine.doFrame(1000);
+
+    engine.cancel(target, property);
+
+    assertThat(token.terminated).isEqualTo(2);
+    assertThat(engine.getActiveCount()).isEqualTo(0);
+  }
+
+  private static class CountingToken implements IsActiveToken {
+
+    private int terminated;
+
+    @Override
+    public void terminate() {
+      terminated++;
+    }
+  }
+
+  private static class CountingProperty extends FloatTweenProperty<View> {
+
+    private int calls;
+
+    private CountingProperty() {
+      super("counting");
+    }
+
+    @Override
+    public void setValue(View object, float value) {
+      calls++;
+      object.setTranslationX(value);
+    }
+
+    @Override
+    public float getValue(View object) {
+      return object.getTranslationX();
+    }
+  }
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.app.Activity;
+import android.graphics.drawable.ColorDrawable;
+import android.view.View;
+import android.view.animation.LinearInterpolator;
+import android.widget.FrameLayout;
+
+import com.google.android.material.motion.runtime.MotionRuntime;
+import com.google.android.material.motion.runtime.PerformerFeatures.ContinuousPerforming.IsActiveToken;
+import com.google.android.material.motion.runtime.PerformerFeatures.ContinuousPerforming.IsActiveTokenGenerator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.lang.ref.WeakReference;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class TweenLifecycleTests {
+
+  private static final TimeInterpolator LINEAR = new LinearInterpolator();
+
+  private FrameLayout root;
+  private View view;
+  private TweenEngine engine;
+  private CountingToken token;
+
+  @Before
+  public void setUp() {
+    Activity activity = Robolectric.setupActivity(Activity.class);
+    root = new FrameLayout(activity);
+    view = new View(activity);
+    root.addView(view);
+    activity.setContentView(root);
+
+    engine = new TweenEngine() {
+      @Override
+      void scheduleFrame() {
+        // No-op.
+      }
+    };
+    token = new CountingToken();
+  }
+
+  @After
+  public void tearDown() {
+    ShadowLooper.unPauseMainLooper();
+    TweenPerformer.setSharedEngineEnabled(false);
+  }
+
+  @Test
+  public void viewBindsItsOwnTweens() {
+    assertThat(TweenLifecycle.getView(view)).isSameAs(view);
+    assertThat(TweenLifecycle.getView(new Object())).isNull();
+  }
+
+  @Test
+  public void drawableBindsTweensToItsView() {
+    ColorDrawable drawable = new ColorDrawable();
+    assertThat(TweenLifecycle.getView(drawable)).isNull();
+
+    drawable.setCallback(view);
+    assertThat(TweenLifecycle.getView(drawable)).isSameAs(view);
+  }
+
+  @Test
+  public void engineEndsTweenOfDetachedView() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    tween.timingFunction = LINEAR;
+    engine.add(view, PreparedTween.prepare(tween), 0f, token, null);
+
+    engine.doFrame(1000);
+    engine.doFrame(1025);
+    root.removeView(view);
+
+    assertThat(view.getAlpha()).isWithin(0f).of(1f);
+    assertThat(token.terminated).isEqualTo(1);
+    assertThat(engine.getActiveCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void engineEndsTweenOfDetachedViewDuringDelay() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, .5f);
+    tween.delay = 100;
+    engine.add(view, PreparedTween.prepare(tween), 0f, token, null);
+
+    engine.doFrame(1000);
+    root.removeView(view);
+
+    assertThat(view.getAlpha()).isWithin(0f).of(.5f);
+    assertThat(token.terminated).isEqualTo(1);
+  }
+
+  @Test
+  public void engineDoesNotRetainTarget() {
+    Object target = new Object();
+    WeakReference<Object> reference = new WeakReference<>(target);
+    ObjectFloatTween<Object> tween = new ObjectFloatTween<>(new NoOpProperty(), 100, 0f, 1f);
+    engine.add(target, PreparedTween.prepare(tween), 0f, token, null);
+
+    //noinspection UnusedAssignment
+    target = null;
+    awaitCollection(reference);
+    engine.doFrame(1000);
+
+    assertThat(reference.get()).isNull();
+    assertThat(engine.getActiveCount()).isEqualTo(0);
+    assertThat(token.terminated).isEqualTo(1);
+  }
+
+  @Test
+  public void engineDropsTweenWhoseTokenWasCollected() {
+    Object target = new Object();
+    CountingToken token = new CountingToken();
+    WeakReference<IsActiveToken> reference = new WeakReference<IsActiveToken>(token);
+    ObjectFloatTween<Object> tween = new ObjectFloatTween<>(new NoOpProperty(), 100, 0f, 1f);
+    engine.add(target, PreparedTween.prepare(tween), 0f, token, null);
+
+    //noinspection UnusedAssignment
+    token = null;
+    awaitCollection(reference);
+    engine.doFrame(1000);
+
+    assertThat(reference.get()).isNull();
+    assertThat(engine.getActiveCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void viewKeepsTokenOfEngineTweenReachable() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 1f, 0f);
+    tween.timingFunction = LINEAR;
+    engine.add(view, PreparedTween.prepare(tween), 0f, new CountingToken(), null);
+
+    engine.doFrame(1000);
+    collectGarbage();
+    engine.doFrame(1100);
+
+    assertThat(view.getAlpha()).isWithin(0f).of(0f);
+    assertThat(engine.getActiveCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void engineTweenOfLiveViewOutlivesItsRuntime() {
+    TweenPerformer.setSharedEngineEnabled(true);
+    ShadowLooper.pauseMainLooper();
+    addPlanToView(new FloatTween(TweenProperty.ALPHA, 1000, 1f, 0f));
+
+    collectGarbage();
+    ShadowLooper.unPauseMainLooper();
+
+    assertThat(view.getAlpha()).isWithin(0f).of(0f);
+  }
+
+  @Test
+  public void droppedAdditiveTweenKeepsItsContribution() {
+    Object target = new Object();
+    RecordingProperty property = new RecordingProperty();
+    ObjectFloatTween<Object> kept = new ObjectFloatTween<>(property, 100, 0f, 100f);
+    kept.additive = true;
+    kept.timingFunction = LINEAR;
+    ObjectFloatTween<Object> dropped = new ObjectFloatTween<>(property, 100, 0f, 10f);
+    dropped.additive = true;
+    dropped.timingFunction = LINEAR;
+    CountingToken droppedToken = new CountingToken();
+    WeakReference<IsActiveToken> reference = new WeakReference<IsActiveToken>(droppedToken);
+    engine.add(target, PreparedTween.prepare(kept), 0f, token, null);
+    engine.add(target, PreparedTween.prepare(dropped), 0f, droppedToken, null);
+
+    engine.doFrame(1000);
+    engine.doFrame(1050);
+    assertThat(property.value).isWithin(1e-3f).of(55f);
+
+    //noinspection UnusedAssignment
+    droppedToken = null;
+    awaitCollection(reference);
+    engine.doFrame(1060);
+    assertThat(property.value).isWithin(1e-3f).of(65f);
+
+    engine.doFrame(1100);
+    assertThat(property.value).isWithin(1e-3f).of(105f);
+  }
+
+  @Test
+  public void animatorEndsTweenOfDetachedView() {
+    ShadowLooper.pauseMainLooper();
+    TweenPerformer<View> performer = new TweenPerformer<>();
+    performer.initialize(view);
+    performer.setIsActiveTokenGenerator(new IsActiveTokenGenerator() {
+      @Override
+      public IsActiveToken generate() {
+        return token;
+      }
+    });
+
+    performer.addPlan(new FloatTween(TweenProperty.ALPHA, 300, 0f, 1f));
+    root.removeView(view);
+
+    assertThat(view.getAlpha()).isWithin(0f).of(1f);
+    assertThat(token.terminated).isEqualTo(1);
+  }
+
+  /**
+   * Adds the plan through a runtime that is unreachable once this returns.
+   */
+  private void addPlanToView(FloatTween plan) {
+    new MotionRuntime().addPlan(plan, view);
+  }
+
+  private static void collectGarbage() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      System.runFinalization();
+    }
+  }
+
+  private static void awaitCollection(WeakReference<?> reference) {
+    for (int i = 0; i < 10 && reference.get() != null; i++) {
+      System.gc();
+      System.runFinalization();
+    }
+  }
+
+  private static class NoOpProperty extends FloatTweenProperty<Object> {
+
+    NoOpProperty() {
+      super("noOp");
+    }
+
+    @Override
+    public void setValue(Object object, float value) {
+    }
+
+    @Override
+    public float getValue(Object object) {
+      return 0f;
+    }
+  }
+
+  private static class RecordingProperty extends FloatTweenProperty<Object> {
+
+    private float value;
+
+    RecordingProperty() {
+      super("recording");
+    }
+
+    @Override
+    public void setValue(Object object, float value) {
+      this.value = value;
+    }
+
+    @Override
+    public float getValue(Object object) {
+      return value;
+    }
+  }
+
+  private static class CountingToken implements IsActiveToken {
+
+    private int terminated;
+
+    @Override
+    public void terminate() {
+      terminated++;
+    }
+  }
+}
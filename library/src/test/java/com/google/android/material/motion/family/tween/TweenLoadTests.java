@@ -0,0 +1,294 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.View;
+
+import com.google.android.material.motion.runtime.MotionRuntime;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowChoreographer;
+import org.robolectric.shadows.ShadowLooper;
+import org.robolectric.util.Scheduler;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * A load test that starts many concurrent tweens through {@link MotionRuntime#addPlan} and steps
+ * them one frame at a time on a paused main looper. It reports the CPU time and allocations of
+ * every frame, the cost of starting the tweens and the latency from adding each tween to its first
+ * applied value, for the animator and shared engine paths, as JSON.
+ * <p>
+ * A frame is a main looper task that applies values. The cost of tasks that apply none, such as
+ * scheduling the first frame, is charged to the next frame. Start latencies are wall clock times,
+ * because Robolectric's choreographer keeps a frame clock that is unrelated to its uptime clock.
+ * <p>
+ * The tweens animate a property that only stores its value, so that the report measures the
+ * tweens rather than Robolectric's implementation of view setters.
+ * <p>
+ * The test only runs if the {@code tween.loadTest} system property is set. Its value is the path
+ * of the JSON report, or empty for {@link #DEFAULT_REPORT}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class TweenLoadTests {
+
+  private static final String PROPERTY = "tween.loadTest";
+  private static final String DEFAULT_REPORT = "build/reports/tween-load.json";
+
+  private static final int[] TWEEN_COUNTS = {10, 100, 1000, 10000};
+  private static final long DURATION = 500;
+  private static final long FRAME_NANOS = 16000000;
+  private static final int MAX_FRAMES = (int) (DURATION * 1000000 / FRAME_NANOS) * 2 + 10;
+  private static final long UNSET = -1;
+
+  private static int setterCalls;
+
+  private static final FloatTweenProperty<View> VALUE = new FloatTweenProperty<View>("value") {
+    @Override
+    public void setValue(View object, float value) {
+      LoadView view = (LoadView) object;
+      if (view.appliedNanos == UNSET) {
+        view.appliedNanos = System.nanoTime();
+      }
+      view.value = value;
+      setterCalls++;
+    }
+
+    @Override
+    public float getValue(View object) {
+      return ((LoadView) object).value;
+    }
+  };
+
+  private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+  private Activity activity;
+  private Scheduler scheduler;
+  private long frameInterval;
+
+  @Before
+  public void setUp() {
+    assumeTrue(System.getProperty(PROPERTY) != null);
+
+    activity = Robolectric.setupActivity(Activity.class);
+    scheduler = Robolectric.getForegroundThreadScheduler();
+    // Every frame callback advances the choreographer's frame time by one interval.
+    frameInterval = ShadowChoreographer.getFrameInterval();
+    ShadowChoreographer.setFrameInterval(FRAME_NANOS);
+  }
+
+  @After
+  public void tearDown() {
+    if (activity != null) {
+      ShadowChoreographer.setFrameInterval(frameInterval);
+      TweenPerformer.setSharedEngineEnabled(false);
+    }
+  }
+
+  @Test
+  public void measureConcurrentTweens() throws IOException {
+    StringBuilder json = new StringBuilder()
+      .append("{\n  \"durationMillis\": ").append(DURATION)
+      .append(",\n  \"frameMillis\": ").append(FRAME_NANOS / 1000000)
+      .append(",\n  \"runs\": [");
+
+    boolean first = true;
+    for (boolean sharedEngine : new boolean[]{false, true}) {
+      TweenPerformer.setSharedEngineEnabled(sharedEngine);
+      // Warm up the code paths before they are measured.
+      run(100);
+
+      for (int count : TWEEN_COUNTS) {
+        Run run = run(count);
+        json.append(first ? "\n    " : ",\n    ");
+        run.appendTo(json, sharedEngine ? "engine" : "animator");
+        first = false;
+      }
+    }
+    json.append("\n  ]\n}\n");
+
+    String path = System.getProperty(PROPERTY);
+    File report = new File(path.isEmpty() ? DEFAULT_REPORT : path);
+    File directory = report.getAbsoluteFile().getParentFile();
+    if (directory != null) {
+      directory.mkdirs();
+    }
+    Writer writer = new FileWriter(report);
+    try {
+      writer.write(json.toString());
+    } finally {
+      writer.close();
+    }
+    System.out.print(json);
+  }
+
+  private Run run(int count) {
+    LoadView[] views = new LoadView[count];
+    for (int i = 0; i < count; i++) {
+      views[i] = new LoadView(activity);
+    }
+    System.gc();
+
+    ShadowLooper.pauseMainLooper();
+    MotionRuntime runtime = new MotionRuntime();
+    Run run = new Run(count);
+
+    long startCpu = getCpuTime();
+    long startAllocated = getAllocatedBytes();
+    for (LoadView view : views) {
+      view.addedNanos = System.nanoTime();
+      runtime.addPlan(new Tween<>(VALUE, DURATION, 0f, 100f), view);
+    }
+    run.startCpuNanos = getCpuTime() - startCpu;
+    run.startAllocatedBytes = getAllocatedBytes() - startAllocated;
+
+    long pendingCpu = 0;
+    long pendingAllocated = 0;
+    while (scheduler.size() > 0 && run.frames < MAX_FRAMES) {
+      int calls = setterCalls;
+      long taskCpu = getCpuTime();
+      long taskAllocated = getAllocatedBytes();
+      ShadowLooper.runMainLooperOneTask();
+      pendingCpu += getCpuTime() - taskCpu;
+      pendingAllocated += getAllocatedBytes() - taskAllocated;
+
+      if (setterCalls != calls) {
+        run.frameCpuNanos[run.frames] = pendingCpu;
+        run.frameAllocatedBytes[run.frames] = pendingAllocated;
+        run.frames++;
+        pendingCpu = 0;
+        pendingAllocated = 0;
+      }
+    }
+    ShadowLooper.unPauseMainLooper();
+
+    for (int i = 0; i < count; i++) {
+      LoadView view = views[i];
+      assertThat(view.value).isWithin(1e-3f).of(100f);
+      run.startLatencyNanos[i] = view.appliedNanos - view.addedNanos;
+    }
+    return run;
+  }
+
+  private long getCpuTime() {
+    return threads.getCurrentThreadCpuTime();
+  }
+
+  /**
+   * Returns the bytes allocated by the current thread, or 0 if the JVM does not report them.
+   */
+  private long getAllocatedBytes() {
+    if (threads instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) threads)
+        .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return 0;
+  }
+
+  private static class LoadView extends View {
+
+    float value;
+    long addedNanos;
+    long appliedNanos = UNSET;
+
+    LoadView(Context context) {
+      super(context);
+    }
+  }
+
+  /**
+   * The measurements of one run of concurrent tweens.
+   */
+  private static class Run {
+
+    final int tweens;
+    final long[] frameCpuNanos = new long[MAX_FRAMES];
+    final long[] frameAllocatedBytes = new long[MAX_FRAMES];
+    final long[] startLatencyNanos;
+    int frames;
+    long startCpuNanos;
+    long startAllocatedBytes;
+
+    Run(int tweens) {
+      this.tweens = tweens;
+      this.startLatencyNanos = new long[tweens];
+    }
+
+    void appendTo(StringBuilder json, String path) {
+      long[] cpu = Arrays.copyOf(frameCpuNanos, frames);
+      long[] allocated = Arrays.copyOf(frameAllocatedBytes, frames);
+      long[] latency = startLatencyNanos.clone();
+      Arrays.sort(cpu);
+      Arrays.sort(latency);
+
+      json.append("{\"path\": \"").append(path).append('"')
+        .append(", \"tweens\": ").append(tweens)
+        .append(", \"frames\": ").append(frames)
+        .append(", \"startCpuNanos\": ").append(startCpuNanos)
+        .append(", \"startCpuNanosPerTween\": ").append(startCpuNanos / tweens)
+        .append(", \"startAllocatedBytes\": ").append(startAllocatedBytes)
+        .append(", \"startLatencyNanos\": {\"mean\": ").append(mean(latency))
+        .append(", \"p50\": ").append(percentile(latency, 50))
+        .append(", \"p90\": ").append(percentile(latency, 90))
+        .append(", \"max\": ").append(percentile(latency, 100))
+        .append("}, \"frameCpuNanos\": {\"mean\": ").append(mean(cpu))
+        .append(", \"p50\": ").append(percentile(cpu, 50))
+        .append(", \"p90\": ").append(percentile(cpu, 90))
+        .append(", \"max\": ").append(percentile(cpu, 100))
+        .append("}, \"frameAllocatedBytes\": {\"mean\": ").append(mean(allocated))
+        .append("}}");
+    }
+
+    private static long mean(long[] values) {
+      if (values.length == 0) {
+        return 0;
+      }
+      long sum = 0;
+      for (long value : values) {
+        sum += value;
+      }
+      return sum / values.length;
+    }
+
+    /**
+     * Returns the given percentile of the sorted values.
+     */
+    private static long percentile(long[] sorted, int percentile) {
+      if (sorted.length == 0) {
+        return 0;
+      }
+      int index = (int) Math.ceil(sorted.length * percentile / 100.0) - 1;
+      return sorted[Math.max(0, index)];
+    }
+  }
+}
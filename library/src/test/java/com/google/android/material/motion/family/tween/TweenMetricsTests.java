@@ -0,0 +1,230 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.app.Activity;
+import android.view.View;
+
+import com.google.android.material.motion.runtime.MotionRuntime;
+import com.google.android.material.motion.runtime.PerformerFeatures.ContinuousPerforming.IsActiveToken;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class TweenMetricsTests {
+
+  private View target;
+  private RecordingListener listener;
+  private TweenEngine engine;
+  /**
+   * The engine references tokens weakly.
+   */
+  private final IsActiveToken token = new NoOpToken();
+
+  @Before
+  public void setUp() {
+    target = new View(Robolectric.setupActivity(Activity.class));
+    listener = new RecordingListener();
+    engine = new TweenEngine() {
+      @Override
+      void scheduleFrame() {
+        // No-op.
+      }
+    };
+  }
+
+  @After
+  public void tearDown() {
+    TweenPerformer.setMetricsListener(null);
+    TweenPerformer.setSharedEngineEnabled(false);
+  }
+
+  @Test
+  public void recordsFramesAndStartLatency() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    tween.delay = 20;
+    addToEngine(tween, new TweenMetrics(listener, tween.property, 990, tween.delay));
+
+    engine.doFrame(1000);
+    engine.doFrame(1020);
+    engine.doFrame(1036);
+    assertThat(listener.metrics).isEmpty();
+
+    engine.doFrame(1120);
+
+    assertThat(listener.metrics).hasSize(1);
+    TweenMetrics metrics = listener.metrics.get(0);
+    assertThat(metrics.getProperty()).isSameAs(TweenProperty.ALPHA);
+    assertThat(metrics.getStartLatencyMillis()).isEqualTo(10);
+    assertThat(metrics.getFramesApplied()).isEqualTo(3);
+    assertThat(metrics.isCancelled()).isFalse();
+  }
+
+  @Test
+  public void countsSkippedFrames() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    addToEngine(tween, new TweenMetrics(listener, tween.property, 1000, 0));
+
+    engine.doFrame(1000);
+    engine.doFrame(1017);
+    // Two frames are missing between these.
+    engine.doFrame(1067);
+    engine.doFrame(1084);
+    engine.doFrame(1100);
+
+    TweenMetrics metrics = listener.metrics.get(0);
+    assertThat(metrics.getFramesApplied()).isEqualTo(5);
+    assertThat(metrics.getSkippedFrames()).isEqualTo(2);
+  }
+
+  @Test
+  public void recordsSetterTime() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    addToEngine(tween, new TweenMetrics(listener, tween.property, 1000, 0));
+
+    engine.doFrame(1000);
+    engine.doFrame(1100);
+
+    TweenMetrics metrics = listener.metrics.get(0);
+    assertThat(metrics.getTotalSetterTimeNanos()).isAtLeast(metrics.getMaxSetterTimeNanos());
+    assertThat(metrics.getMaxSetterTimeNanos()).isAtLeast(0L);
+  }
+
+  @Test
+  public void recordsSetterTimeOfAdditiveSum() {
+    FloatTweenProperty<View> property = new FloatTweenProperty<View>("slow") {
+      @Override
+      public void setValue(View object, float value) {
+        try {
+          Thread.sleep(1);
+        } catch (InterruptedException e) {
+          throw new AssertionError(e);
+        }
+      }
+
+      @Override
+      public float getValue(View object) {
+        return 0f;
+      }
+    };
+    FloatTween first = new FloatTween(property, 100, 0f, 1f);
+    first.additive = true;
+    FloatTween second = new FloatTween(property, 100, 0f, 1f);
+    second.additive = true;
+    TweenMetrics firstMetrics = new TweenMetrics(listener, property, 1000, 0);
+    TweenMetrics secondMetrics = new TweenMetrics(listener, property, 1000, 0);
+    engine.add(target, PreparedTween.prepare(first), 0f, token, firstMetrics);
+    engine.add(target, PreparedTween.prepare(second), 0f, token, secondMetrics);
+
+    engine.doFrame(1000);
+    engine.doFrame(1050);
+    engine.doFrame(1100);
+
+    // The sum is applied with one setter call per frame, which is charged to one of its tweens.
+    assertThat(firstMetrics.getMaxSetterTimeNanos()).isAtLeast(TimeUnit.MILLISECONDS.toNanos(1));
+    assertThat(firstMetrics.getTotalSetterTimeNanos())
+      .isAtLeast(TimeUnit.MILLISECONDS.toNanos(3));
+    assertThat(secondMetrics.getTotalSetterTimeNanos()).isEqualTo(0L);
+  }
+
+  @Test
+  public void reportsCancellation() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    addToEngine(tween, new TweenMetrics(listener, tween.property, 1000, 0));
+
+    engine.doFrame(1000);
+    engine.cancel(target, TweenProperty.ALPHA);
+
+    assertThat(listener.metrics).hasSize(1);
+    assertThat(listener.metrics.get(0).isCancelled()).isTrue();
+    assertThat(listener.metrics.get(0).getFramesApplied()).isEqualTo(1);
+  }
+
+  @Test
+  public void performerReportsMetrics() {
+    TweenPerformer.setMetricsListener(listener);
+    MotionRuntime runtime = new MotionRuntime();
+
+    runtime.addPlan(new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f), target);
+
+    assertThat(listener.metrics).hasSize(1);
+    TweenMetrics metrics = listener.metrics.get(0);
+    assertThat(metrics.getProperty()).isSameAs(TweenProperty.ALPHA);
+    assertThat(metrics.getFramesApplied()).isGreaterThan(0);
+    assertThat(metrics.getStartLatencyMillis()).isAtLeast(0L);
+    assertThat(metrics.isCancelled()).isFalse();
+  }
+
+  @Test
+  public void performerExcludesScaledDelayFromStartLatency() {
+    TweenPerformer.setMetricsListener(listener);
+    MotionRuntime runtime = new MotionRuntime();
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    tween.delay = 200;
+    tween.policy = new TweenPolicy(2f, 0, false);
+
+    TweenPerformer.setSharedEngineEnabled(true);
+    runtime.addPlan(tween, target);
+
+    assertThat(listener.metrics).hasSize(1);
+    // The tween starts 400ms after it is added. Subtracting only the unscaled delay would leave
+    // most of the other 200ms in the start latency.
+    assertThat(listener.metrics.get(0).getStartLatencyMillis()).isLessThan(50L);
+  }
+
+  @Test
+  public void performerRecordsNothingWithoutListener() {
+    MotionRuntime runtime = new MotionRuntime();
+
+    runtime.addPlan(new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f), target);
+
+    assertThat(listener.metrics).isEmpty();
+  }
+
+  private void addToEngine(FloatTween tween, TweenMetrics metrics) {
+    engine.add(target, PreparedTween.prepare(tween), 0f, token, metrics);
+  }
+
+  private static class RecordingListener implements TweenMetricsListener {
+
+    private final List<TweenMetrics> metrics = new ArrayList<>();
+
+    @Override
+    public void onTweenMetrics(TweenMetrics metrics) {
+      this.metrics.add(metrics);
+    }
+  }
+
+  private static class NoOpToken implements IsActiveToken {
+
+    @Override
+    public void terminate() {
+    }
+  }
+}
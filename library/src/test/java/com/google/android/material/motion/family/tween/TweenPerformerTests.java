@@ -34,6 +34,7 @@ import org.junit.runner.RunWith;
 import org.robolectric.Robolectric;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
 
 import static com.google.common.truth.Truth.assertThat;
 
@@ -105,6 +106,56 @@ public class TweenPerformerTests {
     assertThat(target.getAlpha()).isWithin(0).of(0f);
   }
 
+  @Test
+  public void restartingTweenEndsAtLastKeyframe() {
+    Tween<Float> fadeOut = new Tween<>(TweenProperty.ALPHA, 300, 1f, 0f);
+    fadeOut.repeatCount = 2;
+
+    runtime.addPlan(fadeOut, target);
+
+    assertThat(target.getAlpha()).isWithin(0).of(0f);
+  }
+
+  @Test
+  public void reversingTweenEndsAtFirstKeyframeAfterOddRepetitions() {
+    Tween<Float> fadeOut = new Tween<>(TweenProperty.ALPHA, 300, 1f, 0f);
+    fadeOut.repeatCount = 1;
+    fadeOut.repeatMode = BaseTween.REVERSE;
+
+    runtime.addPlan(fadeOut, target);
+
+    assertThat(target.getAlpha()).isWithin(0).of(1f);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidRepeatCount() {
+    Tween<Float> fadeOut = new Tween<>(TweenProperty.ALPHA, 300, 1f, 0f);
+    fadeOut.repeatCount = -2;
+
+    runtime.addPlan(fadeOut, target);
+  }
+
+  @Test
+  public void additiveTweensCompose() {
+    ShadowLooper.pauseMainLooper();
+    for (int i = 0; i < 2; i++) {
+      FloatTween tween = new FloatTween(TweenProperty.TRANSLATION_X, 300, 0f, 10f);
+      tween.additive = true;
+      runtime.addPlan(tween, target);
+    }
+    ShadowLooper.unPauseMainLooper();
+
+    assertThat(target.getTranslationX()).isWithin(0).of(20f);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void objectTweenCanNotBeAdditive() {
+    Tween<Integer> tween = new Tween<>(TweenProperty.BACKGROUND_COLOR, 300, 0, 1);
+    tween.additive = true;
+
+    runtime.addPlan(tween, target);
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void invalidValuesLength() {
     Tween<Float> fadeOut = new Tween<>(TweenProperty.ALPHA, 300);
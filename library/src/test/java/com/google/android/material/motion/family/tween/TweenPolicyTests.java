@@ -0,0 +1,262 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.animation.ValueAnimator;
+import android.app.Activity;
+import android.view.View;
+import android.view.animation.LinearInterpolator;
+
+import com.google.android.material.motion.runtime.MotionRuntime;
+import com.google.android.material.motion.runtime.PerformerFeatures.ContinuousPerforming.IsActiveToken;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class TweenPolicyTests {
+
+  private static final TimeInterpolator LINEAR = new LinearInterpolator();
+
+  private View target;
+  private TweenEngine engine;
+  /**
+   * The engine references tokens weakly.
+   */
+  private final IsActiveToken token = new NoOpToken();
+  private List<TweenMetrics> metrics;
+
+  @Before
+  public void setUp() {
+    target = new View(Robolectric.setupActivity(Activity.class));
+    engine = new TweenEngine() {
+      @Override
+      void scheduleFrame() {
+        // No-op.
+      }
+    };
+    metrics = new ArrayList<>();
+  }
+
+  @After
+  public void tearDown() {
+    TweenPerformer.setPolicy(TweenPolicy.DEFAULT);
+    setSystemDurationScale(1f);
+  }
+
+  @Test
+  public void scalesDurationAndDelay() {
+    TweenPerformer.setPolicy(new TweenPolicy(.5f, 0, false));
+    FloatTween tween = createTween();
+    tween.delay = 40;
+    add(tween);
+
+    engine.doFrame(1000);
+    engine.doFrame(1045);
+
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(.5f);
+  }
+
+  @Test
+  public void appliesSystemDurationScale() {
+    setSystemDurationScale(.5f);
+    FloatTween tween = createTween();
+    tween.delay = 40;
+    add(tween);
+
+    engine.doFrame(1000);
+    engine.doFrame(1045);
+
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(.5f);
+  }
+
+  @Test
+  public void systemDurationScaleOfZeroJumpsToEnd() {
+    setSystemDurationScale(0f);
+    FloatTween tween = createTween();
+    tween.delay = 40;
+    add(tween);
+
+    engine.doFrame(1000);
+
+    assertThat(target.getAlpha()).isWithin(0f).of(1f);
+    assertThat(engine.getActiveCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void capsFrameRate() {
+    TweenPerformer.setPolicy(new TweenPolicy(1f, 30, false));
+    add(createTween());
+
+    for (long time = 1000; time <= 1100; time += 10) {
+      engine.doFrame(time);
+    }
+
+    assertThat(metrics.get(0).getFramesApplied()).isEqualTo(5);
+    assertThat(metrics.get(0).getThrottledFrames()).isEqualTo(6);
+    assertThat(target.getAlpha()).isWithin(0f).of(1f);
+  }
+
+  @Test
+  public void capsFrameRateOn120HzDisplay() {
+    TweenPerformer.setPolicy(new TweenPolicy(1f, 30, false));
+    FloatTween tween = createTween();
+    tween.duration = 2000;
+    add(tween);
+
+    // One second of 120Hz frames, at their times in whole milliseconds.
+    for (int frame = 0; frame < 120; frame++) {
+      engine.doFrame(1000 + frame * 1000 / 120);
+    }
+
+    assertThat(metrics).isEmpty();
+    engine.cancel(target, TweenProperty.ALPHA);
+    assertThat(metrics.get(0).getFramesApplied()).isEqualTo(30);
+    assertThat(metrics.get(0).getThrottledFrames()).isEqualTo(90);
+  }
+
+  @Test
+  public void jumpsNonEssentialTweensToEnd() {
+    TweenPerformer.setPolicy(TweenPolicy.POWER_SAVING);
+    FloatTween tween = createTween();
+    tween.essential = false;
+    add(tween);
+
+    engine.doFrame(1000);
+
+    assertThat(target.getAlpha()).isWithin(0f).of(1f);
+    assertThat(engine.getActiveCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void runsEssentialTweens() {
+    TweenPerformer.setPolicy(TweenPolicy.POWER_SAVING);
+    add(createTween());
+
+    engine.doFrame(1000);
+    engine.doFrame(1050);
+
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(.5f);
+  }
+
+  @Test
+  public void runningTweensFollowPolicyChanges() {
+    FloatTween tween = createTween();
+    tween.essential = false;
+    add(tween);
+
+    engine.doFrame(1000);
+    engine.doFrame(1020);
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(.2f);
+
+    TweenPerformer.setPolicy(TweenPolicy.POWER_SAVING);
+    engine.doFrame(1040);
+
+    assertThat(target.getAlpha()).isWithin(0f).of(1f);
+    assertThat(engine.getActiveCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void planPolicyOverridesProcessPolicy() {
+    TweenPerformer.setPolicy(TweenPolicy.POWER_SAVING);
+    FloatTween tween = createTween();
+    tween.essential = false;
+    tween.policy = TweenPolicy.DEFAULT;
+    add(tween);
+
+    engine.doFrame(1000);
+    engine.doFrame(1050);
+
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(.5f);
+  }
+
+  @Test
+  public void performerJumpsNonEssentialTweensToEnd() {
+    TweenPerformer.setPolicy(TweenPolicy.POWER_SAVING);
+    final List<Float> values = new ArrayList<>();
+    FloatTweenProperty<View> property = new FloatTweenProperty<View>("recorded") {
+      @Override
+      public void setValue(View object, float value) {
+        values.add(value);
+      }
+
+      @Override
+      public float getValue(View object) {
+        return 0f;
+      }
+    };
+    FloatTween tween = new FloatTween(property, 100, 0f, 1f);
+    tween.essential = false;
+
+    new MotionRuntime().addPlan(tween, target);
+
+    assertThat(values).isNotEmpty();
+    for (float value : values) {
+      assertThat(value).isWithin(0f).of(1f);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeDurationScaleThrowsException() {
+    new TweenPolicy(-1f, 0, false);
+  }
+
+  /**
+   * Sets the hidden system animator duration scale, as the window manager does.
+   */
+  private static void setSystemDurationScale(float scale) {
+    try {
+      ValueAnimator.class.getMethod("setDurationScale", float.class).invoke(null, scale);
+    } catch (Exception e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private FloatTween createTween() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    tween.timingFunction = LINEAR;
+    return tween;
+  }
+
+  private void add(FloatTween tween) {
+    TweenMetrics tweenMetrics = new TweenMetrics(new TweenMetricsListener() {
+      @Override
+      public void onTweenMetrics(TweenMetrics tweenMetrics) {
+        metrics.add(tweenMetrics);
+      }
+    }, tween.property, 1000, 0);
+    engine.add(target, PreparedTween.prepare(tween), 0f, token, tweenMetrics);
+  }
+
+  private static class NoOpToken implements IsActiveToken {
+
+    @Override
+    public void terminate() {
+    }
+  }
+}
@@ -77,4 +77,43 @@ public class TweenPropertyTests {
 
     assertThat(TweenProperty.BACKGROUND_COLOR.property.get(target)).isEqualTo(Color.GREEN);
   }
+
+  @Test
+  public void backgroundColorOfOtherBackgroundIsNull() {
+    //noinspection deprecation
+    target.setBackgroundDrawable(new ShapeDrawable());
+
+    assertThat(TweenProperty.BACKGROUND_COLOR.property.get(target)).isNull();
+  }
+
+  @Test
+  public void transformSetsAllComponents() {
+    TweenProperty.TRANSFORM.property.set(target, new ViewTransform(10f, 20f, .5f, 2f, 45f));
+
+    assertThat(target.getTranslationX()).isWithin(0).of(10f);
+    assertThat(target.getTranslationY()).isWithin(0).of(20f);
+    assertThat(target.getScaleX()).isWithin(0).of(.5f);
+    assertThat(target.getScaleY()).isWithin(0).of(2f);
+    assertThat(target.getRotation()).isWithin(0).of(45f);
+  }
+
+  @Test
+  public void transformGetsTargetValue() {
+    target.setTranslationX(10f);
+    target.setScaleY(2f);
+    target.setRotation(45f);
+
+    assertThat(TweenProperty.TRANSFORM.property.get(target))
+      .isEqualTo(new ViewTransform(10f, 0f, 1f, 2f, 45f));
+  }
+
+  @Test
+  public void transformInterpolatesAllComponents() {
+    ViewTransform end = new ViewTransform(10f, 20f, 3f, 0f, 90f);
+
+    ViewTransform half = new ViewTransform();
+    ViewTransform.EVALUATOR.evaluate(.5f, new ViewTransform(), end, half);
+
+    assertThat(half).isEqualTo(new ViewTransform(5f, 10f, 2f, .5f, 45f));
+  }
 }
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.app.Activity;
+import android.graphics.Color;
+import android.view.View;
+import android.view.animation.LinearInterpolator;
+
+import com.google.android.material.motion.runtime.MotionRuntime;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class TweenSpecsTests {
+
+  private View view;
+
+  @Before
+  public void setUp() {
+    view = new View(Robolectric.setupActivity(Activity.class));
+  }
+
+  @After
+  public void tearDown() {
+    ShadowLooper.unPauseMainLooper();
+  }
+
+  @Test
+  public void readsWrittenFloatSpec() throws IOException {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 300, 0f, .5f, 1f);
+    tween.delay = 50;
+    tween.offsets = new float[]{0f, .25f, 1f};
+    tween.timingFunction = new LinearInterpolator();
+    tween.interTimingFunctions = new TimeInterpolator[]{
+      null, new CubicBezierInterpolator(.4f, 0f, .2f, 1f)
+    };
+
+    ObjectFloatTween<View> plan = (ObjectFloatTween<View>) read(tween).<View>get("fade");
+
+    assertThat(plan.property).isSameAs(TweenProperty.ALPHA);
+    assertThat(plan.duration).isEqualTo(300);
+    assertThat(plan.delay).isEqualTo(50);
+    assertThat(plan.values).hasValuesWithin(0f).of(tween.values);
+    assertThat(plan.offsets).hasValuesWithin(0f).of(tween.offsets);
+    assertThat(plan.timingFunction).isInstanceOf(LinearInterpolator.class);
+    assertThat(plan.interTimingFunctions[0]).isNull();
+    assertThat(((LookupTableInterpolator) plan.interTimingFunctions[1]).getSource())
+      .isEqualTo(tween.interTimingFunctions[1]);
+  }
+
+  @Test
+  public void readsWrittenColorSpec() throws IOException {
+    Tween<Integer> tween = new Tween<>(TweenProperty.BACKGROUND_COLOR, 300, Color.RED, Color.BLUE);
+
+    ObjectTween<View, Integer> plan = (ObjectTween<View, Integer>) read(tween).<View>get("fade");
+
+    assertThat(plan.property).isSameAs(TweenProperty.BACKGROUND_COLOR);
+    assertThat(plan.values).asList().containsExactly(Color.RED, Color.BLUE).inOrder();
+    assertThat(plan.timingFunction).isNull();
+  }
+
+  @Test
+  public void plansShareCompiledTrack() throws IOException {
+    TweenSpecs specs = read(new FloatTween(TweenProperty.ALPHA, 300, 0f, 1f));
+
+    BaseTween<View> first = specs.get("fade");
+    BaseTween<View> second = specs.get("fade");
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(KeyframeTrack.compile(second)).isSameAs(KeyframeTrack.compile(first));
+    assertThat(specs.get("missing")).isNull();
+  }
+
+  @Test
+  public void plansHaveOwnKeyframeArrays() throws IOException {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 300, 0f, .5f, 1f);
+    tween.offsets = new float[]{0f, .25f, 1f};
+    TweenSpecs specs = read(tween);
+
+    ObjectFloatTween<View> first = (ObjectFloatTween<View>) specs.<View>get("fade");
+    first.values[1] = .75f;
+    first.offsets[1] = .5f;
+    ObjectFloatTween<View> second = (ObjectFloatTween<View>) specs.<View>get("fade");
+
+    assertThat(second.values).hasValuesWithin(0f).of(tween.values);
+    assertThat(second.offsets).hasValuesWithin(0f).of(tween.offsets);
+    assertThat(KeyframeTrack.compile(first)).isNotSameAs(KeyframeTrack.compile(second));
+  }
+
+  @Test
+  public void playsSpec() throws IOException {
+    TweenSpecs specs = read(new FloatTween(TweenProperty.ALPHA, 300, .5f));
+    BaseTween<View> plan = specs.get("fade");
+
+    new MotionRuntime().addPlan(plan, view);
+
+    assertThat(view.getAlpha()).isWithin(1e-5f).of(.5f);
+  }
+
+  @Test(expected = IOException.class)
+  public void rejectsUnknownProperty() throws IOException {
+    byte[] bytes = write(new FloatTween(TweenProperty.ALPHA, 300, 0f, 1f));
+    String text = new String(bytes, "ISO-8859-1");
+    // Rename the property to one that is not registered.
+    bytes[text.indexOf("alpha")] = 'A';
+
+    TweenSpecs.read(ByteBuffer.wrap(bytes));
+  }
+
+  @Test(expected = IOException.class)
+  public void rejectsTruncatedFile() throws IOException {
+    byte[] bytes = write(new FloatTween(TweenProperty.ALPHA, 300, 0f, 1f));
+
+    TweenSpecs.read(ByteBuffer.wrap(bytes, 0, bytes.length - 1));
+  }
+
+  @Test(expected = IOException.class)
+  public void rejectsInvalidSpec() throws IOException {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 300, 0f, .5f, 1f);
+    tween.offsets = new float[]{0f, 1f, .5f};
+
+    read(tween);
+  }
+
+  @Test(expected = IOException.class)
+  public void rejectsNegativeDuration() throws IOException {
+    byte[] bytes = write(new FloatTween(TweenProperty.ALPHA, 300, 0f, 1f));
+    // The duration follows the value type and the flags.
+    ByteBuffer.wrap(bytes).putInt(getValueTypeIndex(bytes) + 2, -1);
+
+    TweenSpecs.read(ByteBuffer.wrap(bytes));
+  }
+
+  @Test(expected = IOException.class)
+  public void rejectsNegativeDelay() throws IOException {
+    byte[] bytes = write(new FloatTween(TweenProperty.ALPHA, 300, 0f, 1f));
+    // The delay follows the duration.
+    ByteBuffer.wrap(bytes).putInt(getValueTypeIndex(bytes) + 6, -1);
+
+    TweenSpecs.read(ByteBuffer.wrap(bytes));
+  }
+
+  @Test(expected = IOException.class)
+  public void rejectsIntValuesForFloatProperty() throws IOException {
+    byte[] bytes = write(new FloatTween(TweenProperty.ALPHA, 300, 0f, 1f));
+    // Int values.
+    bytes[getValueTypeIndex(bytes)] = 1;
+
+    TweenSpecs.read(ByteBuffer.wrap(bytes));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsDurationOutOfRange() throws IOException {
+    write(new FloatTween(TweenProperty.ALPHA, Integer.MAX_VALUE + 1L, 0f, 1f));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsDelayOutOfRange() throws IOException {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 300, 0f, 1f);
+    tween.delay = -1;
+
+    write(tween);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsTooManyKeyframes() throws IOException {
+    write(new FloatTween(TweenProperty.ALPHA, 300, new float[0x10000]));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsTooLongId() throws IOException {
+    Map<String, BaseTween<?>> plans = new LinkedHashMap<>();
+    plans.put(
+      new String(new char[0x10000]).replace('\0', 'a'),
+      new FloatTween(TweenProperty.ALPHA, 300, 0f, 1f));
+
+    TweenSpecs.write(plans, new ByteArrayOutputStream());
+  }
+
+  @Test
+  public void loadsOnExecutorAndCachesByPath() throws IOException {
+    final byte[] bytes = write(new FloatTween(TweenProperty.ALPHA, 300, 0f, 1f));
+    final int[] reads = new int[1];
+    Callable<ByteBuffer> source = new Callable<ByteBuffer>() {
+      @Override
+      public ByteBuffer call() {
+        reads[0]++;
+        return ByteBuffer.wrap(bytes);
+      }
+    };
+    QueueExecutor executor = new QueueExecutor();
+    RecordingListener listener = new RecordingListener();
+    ShadowLooper.pauseMainLooper();
+
+    TweenSpecs.load("loadsOnExecutorAndCachesByPath", source, executor, listener);
+    assertThat(reads[0]).isEqualTo(0);
+
+    executor.runAll();
+    assertThat(listener.specs).isEmpty();
+
+    ShadowLooper.idleMainLooper();
+    assertThat(listener.specs).hasSize(1);
+    assertThat(TweenSpecs.getLoaded("loadsOnExecutorAndCachesByPath"))
+      .isSameAs(listener.specs.get(0));
+
+    TweenSpecs.load("loadsOnExecutorAndCachesByPath", source, executor, listener);
+    ShadowLooper.idleMainLooper();
+    assertThat(reads[0]).isEqualTo(1);
+    assertThat(listener.specs).hasSize(2);
+    assertThat(listener.specs.get(1)).isSameAs(listener.specs.get(0));
+  }
+
+  @Test
+  public void reportsLoadErrorsOnMainThread() {
+    Callable<ByteBuffer> source = new Callable<ByteBuffer>() {
+      @Override
+      public ByteBuffer call() {
+        return ByteBuffer.wrap(new byte[]{1, 2, 3});
+      }
+    };
+    QueueExecutor executor = new QueueExecutor();
+    RecordingListener listener = new RecordingListener();
+
+    TweenSpecs.load("reportsLoadErrorsOnMainThread", source, executor, listener);
+    executor.runAll();
+    ShadowLooper.idleMainLooper();
+
+    assertThat(listener.errors).hasSize(1);
+    assertThat(TweenSpecs.getLoaded("reportsLoadErrorsOnMainThread")).isNull();
+  }
+
+  private static TweenSpecs read(BaseTween<?> plan) throws IOException {
+    return TweenSpecs.read(ByteBuffer.wrap(write(plan)));
+  }
+
+  /**
+   * Returns the index of the value type of the spec of an alpha plan, which follows the property
+   * name.
+   */
+  private static int getValueTypeIndex(byte[] bytes) throws IOException {
+    return new String(bytes, "ISO-8859-1").indexOf("alpha") + "alpha".length();
+  }
+
+  private static byte[] write(BaseTween<?> plan) throws IOException {
+    Map<String, BaseTween<?>> plans = new LinkedHashMap<>();
+    plans.put("fade", plan);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TweenSpecs.write(plans, out);
+    return out.toByteArray();
+  }
+
+  private static class QueueExecutor implements Executor {
+
+    private final List<Runnable> queue = new ArrayList<>();
+
+    @Override
+    public void execute(Runnable command) {
+      queue.add(command);
+    }
+
+    void runAll() {
+      for (Runnable command : queue) {
+        command.run();
+      }
+      queue.clear();
+    }
+  }
+
+  private static class RecordingListener implements TweenSpecs.Listener {
+
+    final List<TweenSpecs> specs = new ArrayList<>();
+    final List<IOException> errors = new ArrayList<>();
+
+    @Override
+    public void onLoaded(TweenSpecs specs) {
+      this.specs.add(specs);
+    }
+
+    @Override
+    public void onError(IOException e) {
+      errors.add(e);
+    }
+  }
+}
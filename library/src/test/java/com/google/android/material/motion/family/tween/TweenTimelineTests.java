@@ -0,0 +1,187 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.app.Activity;
+import android.graphics.Color;
+import android.view.View;
+import android.view.animation.LinearInterpolator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class TweenTimelineTests {
+
+  private static final TimeInterpolator LINEAR = new LinearInterpolator();
+
+  private ManualTweenClock clock;
+  private View target;
+
+  @Before
+  public void setUp() {
+    clock = new ManualTweenClock();
+    clock.setTimeMillis(1000);
+    target = new View(Robolectric.setupActivity(Activity.class));
+  }
+
+  @Test
+  public void samplesAtAnyTime() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    tween.timingFunction = LINEAR;
+    TweenTimeline<View> timeline = new TweenTimeline<>(tween, clock);
+
+    assertThat(timeline.getFloatValue(75, 0f)).isWithin(1e-5f).of(.75f);
+    assertThat(timeline.getFloatValue(25, 0f)).isWithin(1e-5f).of(.25f);
+    assertThat(timeline.getFloatValue(-10, 0f)).isWithin(1e-5f).of(0f);
+    assertThat(timeline.getFloatValue(500, 0f)).isWithin(1e-5f).of(1f);
+  }
+
+  @Test
+  public void delayComesFirst() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    tween.delay = 50;
+    tween.timingFunction = LINEAR;
+    TweenTimeline<View> timeline = new TweenTimeline<>(tween, clock);
+
+    assertThat(timeline.getTotalDuration()).isEqualTo(150);
+    assertThat(timeline.getFloatValue(50, 0f)).isWithin(1e-5f).of(0f);
+    assertThat(timeline.getFloatValue(100, 0f)).isWithin(1e-5f).of(.5f);
+  }
+
+  @Test
+  public void reversesEveryOtherRepetition() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    tween.delay = 50;
+    tween.repeatCount = 2;
+    tween.repeatMode = BaseTween.REVERSE;
+    tween.timingFunction = LINEAR;
+    TweenTimeline<View> timeline = new TweenTimeline<>(tween, clock);
+
+    assertThat(timeline.getTotalDuration()).isEqualTo(350);
+    assertThat(timeline.getFloatValue(125, 0f)).isWithin(1e-5f).of(.75f);
+    assertThat(timeline.getFloatValue(175, 0f)).isWithin(1e-5f).of(.75f);
+    assertThat(timeline.getFloatValue(275, 0f)).isWithin(1e-5f).of(.25f);
+    assertThat(timeline.getFloatValue(400, 0f)).isWithin(1e-5f).of(1f);
+  }
+
+  @Test
+  public void appliesValueAtClockTime() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    tween.timingFunction = LINEAR;
+    TweenTimeline<View> timeline = new TweenTimeline<>(tween, clock);
+
+    clock.advance(40);
+    timeline.apply(target);
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(.4f);
+    assertThat(timeline.isFinished()).isFalse();
+
+    clock.advance(60);
+    timeline.apply(target);
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(1f);
+    assertThat(timeline.isFinished()).isTrue();
+  }
+
+  @Test
+  public void honorsImplicitFrom() {
+    target.setTranslationX(100f);
+
+    FloatTween tween = new FloatTween(TweenProperty.TRANSLATION_X, 100, 0f);
+    tween.timingFunction = LINEAR;
+    TweenTimeline<View> timeline = new TweenTimeline<>(tween, clock);
+
+    timeline.apply(target);
+    assertThat(target.getTranslationX()).isWithin(1e-3f).of(100f);
+
+    clock.advance(25);
+    timeline.apply(target);
+    assertThat(target.getTranslationX()).isWithin(1e-3f).of(75f);
+  }
+
+  @Test
+  public void seekScrubsBackAndForth() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    tween.timingFunction = LINEAR;
+    TweenTimeline<View> timeline = new TweenTimeline<>(tween, clock);
+
+    timeline.seek(80);
+    timeline.apply(target);
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(.8f);
+
+    timeline.seek(20);
+    timeline.apply(target);
+    assertThat(target.getAlpha()).isWithin(1e-5f).of(.2f);
+    assertThat(timeline.getTime()).isEqualTo(20);
+  }
+
+  @Test
+  public void startRestartsAtClockTime() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f);
+    TweenTimeline<View> timeline = new TweenTimeline<>(tween, clock);
+
+    clock.advance(500);
+    assertThat(timeline.isFinished()).isTrue();
+
+    timeline.start();
+    assertThat(timeline.getTime()).isEqualTo(0);
+    assertThat(timeline.isFinished()).isFalse();
+  }
+
+  @Test
+  public void samplesKeyframes() {
+    FloatTween tween = new FloatTween(TweenProperty.ALPHA, 100, 0f, 1f, 0f);
+    tween.offsets = new float[]{0f, .25f, 1f};
+    tween.timingFunction = LINEAR;
+    tween.interTimingFunctions = new TimeInterpolator[]{LINEAR, LINEAR};
+    TweenTimeline<View> timeline = new TweenTimeline<>(tween, clock);
+
+    assertThat(timeline.getFloatValue(25, 0f)).isWithin(1e-5f).of(1f);
+    assertThat(timeline.getFloatValue(100, 0f)).isWithin(1e-5f).of(0f);
+    assertThat(timeline.getFloatValue(50, 0f)).isWithin(1e-5f).of(2f / 3);
+  }
+
+  @Test
+  public void samplesObjectValues() {
+    Tween<Integer> tween = new Tween<>(TweenProperty.BACKGROUND_COLOR, 100, Color.RED, Color.BLUE);
+    TweenTimeline<View> timeline = new TweenTimeline<>(tween, clock);
+
+    assertThat(timeline.getValue(0, null)).isEqualTo(Color.RED);
+    assertThat(timeline.getValue(100, null)).isEqualTo(Color.BLUE);
+
+    clock.advance(100);
+    timeline.apply(target);
+    assertThat(TweenProperty.BACKGROUND_COLOR.property.get(target)).isEqualTo(Color.BLUE);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void objectTweenHasNoFloatValue() {
+    Tween<Integer> tween = new Tween<>(TweenProperty.BACKGROUND_COLOR, 100, Color.RED, Color.BLUE);
+    new TweenTimeline<>(tween, clock).getFloatValue(0, 0f);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidPlanThrowsException() {
+    new TweenTimeline<>(new FloatTween(TweenProperty.ALPHA, 100), clock);
+  }
+}
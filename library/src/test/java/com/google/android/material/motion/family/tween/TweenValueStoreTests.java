@@ -0,0 +1,217 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.animation.TimeInterpolator;
+import android.app.Activity;
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.ShapeDrawable;
+import android.view.View;
+import android.view.animation.LinearInterpolator;
+
+import com.google.android.material.motion.runtime.MotionRuntime;
+import com.google.android.material.motion.runtime.PerformerFeatures.ContinuousPerforming.IsActiveToken;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class TweenValueStoreTests {
+
+  private static final TimeInterpolator LINEAR = new LinearInterpolator();
+
+  private Object target;
+  private CountingProperty property;
+  /**
+   * The engine references tokens weakly.
+   */
+  private final IsActiveToken token = new NoOpToken();
+  private FloatKeyframeTrack track;
+
+  @Before
+  public void setUp() {
+    target = new Object();
+    property = new CountingProperty();
+    track = FloatKeyframeTrack.create(property, new float[]{10f}, null, null);
+  }
+
+  @Test
+  public void interruptedValueIsReadWithoutGetter() {
+    TweenValueStore.putFloat(target, property, 3f, false);
+
+    assertThat(TweenValueStore.readFloat(target, track)).isWithin(0f).of(3f);
+    assertThat(property.gets).isEqualTo(0);
+  }
+
+  @Test
+  public void settledValueIsReadThroughGetter() {
+    property.value = 7f;
+    TweenValueStore.putFloat(target, property, 3f, true);
+
+    assertThat(TweenValueStore.readFloat(target, track)).isWithin(0f).of(7f);
+    assertThat(property.gets).isEqualTo(1);
+  }
+
+  @Test
+  public void equalTargetsHaveOwnValues() {
+    Object first = new EqualTarget();
+    Object second = new EqualTarget();
+    property.value = 7f;
+    TweenValueStore.putFloat(first, property, 3f, false);
+
+    assertThat(TweenValueStore.readFloat(second, track)).isWithin(0f).of(7f);
+    assertThat(TweenValueStore.readFloat(first, track)).isWithin(0f).of(3f);
+  }
+
+  @Test
+  public void storesValuesOfManyTargets() {
+    Object[] targets = new Object[100];
+    for (int i = 0; i < targets.length; i++) {
+      targets[i] = new Object();
+      TweenValueStore.putFloat(targets[i], property, i, false);
+    }
+
+    for (int i = 0; i < targets.length; i++) {
+      assertThat(TweenValueStore.readFloat(targets[i], track)).isWithin(0f).of(i);
+    }
+    assertThat(property.gets).isEqualTo(0);
+  }
+
+  @Test
+  public void nullGetterFallsBackToSettledValue() {
+    View view = new View(Robolectric.setupActivity(Activity.class));
+    //noinspection deprecation
+    view.setBackgroundDrawable(new ShapeDrawable());
+    TweenValueStore.put(view, TweenProperty.BACKGROUND_COLOR, Color.GREEN, true);
+
+    assertThat(TweenValueStore.read(view, createBackgroundColorTrack())).isEqualTo(Color.GREEN);
+  }
+
+  @Test
+  public void nullGetterWithoutValueStartsFromFinalValue() {
+    View view = new View(Robolectric.setupActivity(Activity.class));
+    //noinspection deprecation
+    view.setBackgroundDrawable(new ShapeDrawable());
+
+    assertThat(TweenValueStore.read(view, createBackgroundColorTrack())).isEqualTo(Color.RED);
+  }
+
+  @Test
+  public void implicitBackgroundColorDoesNotNeedColorBackground() {
+    View view = new View(Robolectric.setupActivity(Activity.class));
+    //noinspection deprecation
+    view.setBackgroundDrawable(new ShapeDrawable());
+
+    new MotionRuntime().addPlan(new Tween<>(TweenProperty.BACKGROUND_COLOR, 300, Color.RED), view);
+
+    assertThat(((ColorDrawable) view.getBackground()).getColor()).isEqualTo(Color.RED);
+  }
+
+  @Test
+  public void cancelledEngineTweenStoresInterruptedValue() {
+    TweenEngine engine = new TweenEngine() {
+      @Override
+      void scheduleFrame() {
+        // No-op.
+      }
+    };
+    ObjectFloatTween<Object> tween = new ObjectFloatTween<>(property, 100, 0f, 1f);
+    tween.timingFunction = LINEAR;
+    engine.add(target, PreparedTween.prepare(tween), 0f, token, null);
+
+    engine.doFrame(1000);
+    engine.doFrame(1025);
+    engine.cancel(target, property);
+    property.value = 5f;
+
+    assertThat(TweenValueStore.readFloat(target, track)).isWithin(1e-5f).of(.25f);
+  }
+
+  @Test
+  public void finishedEngineTweenStoresSettledValue() {
+    TweenEngine engine = new TweenEngine() {
+      @Override
+      void scheduleFrame() {
+        // No-op.
+      }
+    };
+    ObjectFloatTween<Object> tween = new ObjectFloatTween<>(property, 100, 0f, 1f);
+    engine.add(target, PreparedTween.prepare(tween), 0f, token, null);
+
+    engine.doFrame(1000);
+    engine.doFrame(1100);
+    property.value = 5f;
+
+    assertThat(TweenValueStore.readFloat(target, track)).isWithin(0f).of(5f);
+    assertThat(property.gets).isEqualTo(1);
+  }
+
+  private static ObjectKeyframeTrack<Integer> createBackgroundColorTrack() {
+    return ObjectKeyframeTrack.create(new Tween<>(TweenProperty.BACKGROUND_COLOR, 300, Color.RED));
+  }
+
+  private static class CountingProperty extends FloatTweenProperty<Object> {
+
+    private float value;
+    private int gets;
+
+    CountingProperty() {
+      super("counting");
+    }
+
+    @Override
+    public void setValue(Object object, float value) {
+      this.value = value;
+    }
+
+    @Override
+    public float getValue(Object object) {
+      gets++;
+      return value;
+    }
+  }
+
+  /**
+   * A target that is equal to every other.
+   */
+  private static class EqualTarget {
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof EqualTarget;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+  }
+
+  private static class NoOpToken implements IsActiveToken {
+
+    @Override
+    public void terminate() {
+    }
+  }
+}
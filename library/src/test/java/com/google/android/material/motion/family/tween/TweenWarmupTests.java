@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.View;
+
+import com.google.android.material.motion.runtime.MotionRuntime;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class TweenWarmupTests {
+
+  private Context context;
+
+  @Before
+  public void setUp() {
+    context = Robolectric.setupActivity(Activity.class);
+  }
+
+  @After
+  public void tearDown() {
+    TweenWarmup.reset();
+    TweenPerformer.setSharedEngineEnabled(false);
+    TweenPerformer.setMetricsListener(null);
+  }
+
+  @Test
+  public void warmUpRunsOnce() {
+    TweenWarmup.warmUp(context);
+
+    assertThat(TweenWarmup.isWarmedUp()).isTrue();
+    TweenWarmup.warmUp(context);
+  }
+
+  @Test
+  public void warmUpWhenIdleDoesNotWarmUpImmediately() {
+    TweenWarmup.warmUpWhenIdle(context);
+
+    assertThat(TweenWarmup.isWarmedUp()).isFalse();
+  }
+
+  @Test
+  public void warmUpStepsFramesOnAnimatorsAndEngine() {
+    CountingView view = new CountingView(context);
+
+    ShadowLooper.pauseMainLooper();
+    TweenWarmup.warmUp(view);
+    ShadowLooper.unPauseMainLooper();
+
+    // Every frame on an animator, on an engine and on a timeline.
+    assertThat(view.alphaCount).isAtLeast(3 * (TweenWarmup.FRAMES + 1));
+  }
+
+  @Test
+  public void warmUpReportsNoMetrics() {
+    final List<TweenMetrics> metrics = new ArrayList<>();
+    TweenMetricsListener listener = new TweenMetricsListener() {
+      @Override
+      public void onTweenMetrics(TweenMetrics tweenMetrics) {
+        metrics.add(tweenMetrics);
+      }
+    };
+    TweenPerformer.setMetricsListener(listener);
+    TweenPerformer.setSharedEngineEnabled(true);
+
+    TweenWarmup.warmUp(context);
+
+    assertThat(metrics).isEmpty();
+    assertThat(TweenPerformer.metricsListener).isSameAs(listener);
+    assertThat(TweenPerformer.sharedEngineEnabled).isTrue();
+  }
+
+  @Test
+  public void warmUpDoesNotDisturbRunningEngineTweens() {
+    TweenPerformer.setSharedEngineEnabled(true);
+    View view = new View(context);
+
+    ShadowLooper.pauseMainLooper();
+    new MotionRuntime().addPlan(new FloatTween(TweenProperty.ALPHA, 300, 1f, 0f), view);
+    TweenWarmup.warmUp(context);
+    ShadowLooper.unPauseMainLooper();
+
+    assertThat(view.getAlpha()).isWithin(0f).of(0f);
+  }
+
+  private static class CountingView extends View {
+
+    private int alphaCount;
+
+    private CountingView(Context context) {
+      super(context);
+    }
+
+    @Override
+    public void setAlpha(float alpha) {
+      super.setAlpha(alpha);
+      alphaCount++;
+    }
+  }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates a {@code FooTweenProperties} class of {@code FloatTweenProperty} constants for the
+ * {@code @Tweenable} fields and setters of each class {@code Foo}.
+ */
+public class TweenableProcessor extends AbstractProcessor {
+
+  static final String TWEENABLE = "com.google.android.material.motion.family.tween.Tweenable";
+  static final String FLOAT_TWEEN_PROPERTY =
+    "com.google.android.material.motion.family.tween.FloatTweenProperty";
+  static final String SUFFIX = "TweenProperties";
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return Collections.singleton(TWEENABLE);
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    TypeElement tweenable = processingEnv.getElementUtils().getTypeElement(TWEENABLE);
+    if (tweenable == null) {
+      return false;
+    }
+
+    Map<TypeElement, List<Accessor>> accessors = new LinkedHashMap<>();
+    for (Element element : roundEnv.getElementsAnnotatedWith(tweenable)) {
+      Accessor accessor = createAccessor(element);
+      if (accessor == null) {
+        continue;
+      }
+
+      TypeElement type = (TypeElement) element.getEnclosingElement();
+      List<Accessor> list = accessors.get(type);
+      if (list == null) {
+        list = new ArrayList<>();
+        accessors.put(type, list);
+      }
+      list.add(accessor);
+    }
+
+    for (Map.Entry<TypeElement, List<Accessor>> entry : accessors.entrySet()) {
+      writeProperties(entry.getKey(), entry.getValue());
+    }
+    return true;
+  }
+
+  /**
+   * Returns the accessor of the given annotated element, or null after reporting an error if the
+   * element cannot be tweened.
+   */
+  private Accessor createAccessor(Element element) {
+    Set<Modifier> modifiers = element.getModifiers();
+    if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)) {
+      return error(element, "@Tweenable members must not be private or static");
+    }
+
+    if (element.getKind() == ElementKind.FIELD) {
+      if (element.asType().getKind() != TypeKind.FLOAT) {
+        return error(element, "@Tweenable fields must be of type float");
+      }
+      if (modifiers.contains(Modifier.FINAL)) {
+        return error(element, "@Tweenable fields must not be final");
+      }
+      String field = element.getSimpleName().toString();
+      return new Accessor(stripPrefix(field), field + " = value", field);
+    }
+
+    ExecutableElement setter = (ExecutableElement) element;
+    String name = setter.getSimpleName().toString();
+    if (!name.startsWith("set")
+      || name.length() == 3
+      || setter.getReturnType().getKind() != TypeKind.VOID
+      || setter.getParameters().size() != 1
+      || setter.getParameters().get(0).asType().getKind() != TypeKind.FLOAT) {
+      return error(element, "@Tweenable methods must be setters of the form void setFoo(float)");
+    }
+
+    String getter = "get" + name.substring(3);
+    if (!hasGetter((TypeElement) setter.getEnclosingElement(), getter)) {
+      return error(element, "@Tweenable setter " + name + " needs a float " + getter + "()");
+    }
+    return new Accessor(decapitalize(name.substring(3)), name + "(value)", getter + "()");
+  }
+
+  private boolean hasGetter(TypeElement type, String getter) {
+    List<? extends Element> members = processingEnv.getElementUtils().getAllMembers(type);
+    for (ExecutableElement method : ElementFilter.methodsIn(members)) {
+      if (method.getSimpleName().contentEquals(getter)
+        && method.getParameters().isEmpty()
+        && method.getReturnType().getKind() == TypeKind.FLOAT
+        && !method.getModifiers().contains(Modifier.PRIVATE)
+        && !method.getModifiers().contains(Modifier.STATIC)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void writeProperties(TypeElement type, List<Accessor> accessors) {
+    PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+    String packageName = pkg.getQualifiedName().toString();
+    String relativeName = getRelativeName(type, packageName);
+    String className = relativeName.replace('.', '_') + SUFFIX;
+    String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+    String target = getTargetType(type, relativeName);
+
+    StringBuilder out = new StringBuilder();
+    out.append("// Generated by ").append(getClass().getSimpleName()).append(". Do not edit.\n");
+    if (!packageName.isEmpty()) {
+      out.append("package ").append(packageName).append(";\n");
+    }
+    out.append('\n')
+      .append("import ").append(FLOAT_TWEEN_PROPERTY).append(";\n")
+      .append('\n')
+      .append("/**\n")
+      .append(" * Tween properties of {@link ").append(relativeName).append("}.\n")
+      .append(" */\n");
+    if (type.getModifiers().contains(Modifier.PUBLIC)) {
+      out.append("public ");
+    }
+    out.append("final class ").append(className).append(" {\n");
+
+    List<String> constants = new ArrayList<>();
+    for (Accessor accessor : accessors) {
+      String constant = toConstantName(accessor.name);
+      if (constants.contains(constant)) {
+        error(type, "Duplicate @Tweenable property " + accessor.name);
+        return;
+      }
+      constants.add(constant);
+
+      out.append('\n')
+        .append("  public static final FloatTweenProperty<")
+        .append(target).append("> ").append(constant).append(" =\n")
+        .append("    new FloatTweenProperty<").append(target).append(">(\"")
+        .append(accessor.name).append("\") {\n")
+        .append("      @Override\n")
+        .append("      public void setValue(").append(target).append(" object, float value) {\n")
+        .append("        object.").append(accessor.write).append(";\n")
+        .append("      }\n")
+        .append('\n')
+        .append("      @Override\n")
+        .append("      public float getValue(").append(target).append(" object) {\n")
+        .append("        return object.").append(accessor.read).append(";\n")
+        .append("      }\n")
+        .append("    };\n");
+    }
+
+    out.append('\n')
+      .append("  private ").append(className).append("() {\n")
+      .append("  }\n")
+      .append("}\n");
+
+    try {
+      JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+      Writer writer = file.openWriter();
+      try {
+        writer.write(out.toString());
+      } finally {
+        writer.close();
+      }
+    } catch (IOException e) {
+      error(type, "Could not write " + qualifiedName + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Returns the name of the given type relative to its package, such as {@code Outer.Inner}.
+   */
+  private static String getRelativeName(TypeElement type, String packageName) {
+    String name = type.getQualifiedName().toString();
+    return packageName.isEmpty() ? name : name.substring(packageName.length() + 1);
+  }
+
+  /**
+   * Returns the type argument of the generated properties for the given type, with a wildcard for
+   * each of its type parameters.
+   */
+  private static String getTargetType(TypeElement type, String relativeName) {
+    StringBuilder target = new StringBuilder(relativeName);
+    int count = type.getTypeParameters().size();
+    if (count > 0) {
+      target.append('<');
+      for (int i = 0; i < count; i++) {
+        target.append(i == 0 ? "?" : ", ?");
+      }
+      target.append('>');
+    }
+    return target.toString();
+  }
+
+  /**
+   * Strips the Android member prefix from a field name: {@code mCornerRadius} becomes
+   * {@code cornerRadius}.
+   */
+  static String stripPrefix(String field) {
+    if (field.length() > 1 && field.charAt(0) == 'm' && Character.isUpperCase(field.charAt(1))) {
+      return decapitalize(field.substring(1));
+    }
+    return field;
+  }
+
+  private static String decapitalize(String name) {
+    return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+  }
+
+  /**
+   * Converts a camel case property name to a constant name: {@code cornerRadius} becomes
+   * {@code CORNER_RADIUS}.
+   */
+  static String toConstantName(String name) {
+    StringBuilder constant = new StringBuilder();
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      if (i > 0 && Character.isUpperCase(c) && !Character.isUpperCase(name.charAt(i - 1))) {
+        constant.append('_');
+      }
+      constant.append(c);
+    }
+    return constant.toString().toUpperCase(Locale.US);
+  }
+
+  private <T> T error(Element element, String message) {
+    Messager messager = processingEnv.getMessager();
+    messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    return null;
+  }
+
+  /**
+   * The generated code that reads and writes one tweenable value.
+   */
+  private static class Accessor {
+
+    final String name;
+    final String write;
+    final String read;
+
+    Accessor(String name, String write, String read) {
+      this.name = name;
+      this.write = write;
+      this.read = read;
+    }
+  }
+}
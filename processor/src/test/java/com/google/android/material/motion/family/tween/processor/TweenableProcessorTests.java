@@ -0,0 +1,216 @@
+/*
+ * Copyright 2016-present The Material Motion Authors. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.motion.family.tween.processor;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(JUnit4.class)
+public class TweenableProcessorTests {
+
+  /**
+   * JVM stand-ins for the library types that generated code refers to.
+   */
+  private static final String[][] LIBRARY = {
+    {"com.google.android.material.motion.family.tween.Tweenable",
+      "package com.google.android.material.motion.family.tween;\n"
+        + "public @interface Tweenable {}"},
+    {"com.google.android.material.motion.family.tween.FloatTweenProperty",
+      "package com.google.android.material.motion.family.tween;\n"
+        + "public abstract class FloatTweenProperty<T> {\n"
+        + "  public FloatTweenProperty(String name) {}\n"
+        + "  public abstract void setValue(T object, float value);\n"
+        + "  public abstract float getValue(T object);\n"
+        + "}"},
+  };
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private DiagnosticCollector<JavaFileObject> diagnostics;
+
+  @Before
+  public void setUp() {
+    diagnostics = new DiagnosticCollector<>();
+  }
+
+  @Test
+  public void generatesPropertyForField() throws IOException {
+    String generated = compile("com.example.Ring",
+      "package com.example;\n"
+        + "import com.google.android.material.motion.family.tween.Tweenable;\n"
+        + "public class Ring {\n"
+        + "  @Tweenable float mCornerRadius;\n"
+        + "}");
+
+    assertThat(generated).contains("package com.example;");
+    assertThat(generated).contains("public final class RingTweenProperties");
+    assertThat(generated).contains("FloatTweenProperty<Ring> CORNER_RADIUS");
+    assertThat(generated).contains("(\"cornerRadius\")");
+    assertThat(generated).contains("object.mCornerRadius = value;");
+    assertThat(generated).contains("return object.mCornerRadius;");
+  }
+
+  @Test
+  public void generatesPropertyForSetter() throws IOException {
+    String generated = compile("com.example.Ring",
+      "package com.example;\n"
+        + "import com.google.android.material.motion.family.tween.Tweenable;\n"
+        + "public class Ring {\n"
+        + "  private float progress;\n"
+        + "  @Tweenable public void setProgress(float progress) { this.progress = progress; }\n"
+        + "  public float getProgress() { return progress; }\n"
+        + "}");
+
+    assertThat(generated).contains("PROGRESS");
+    assertThat(generated).contains("object.setProgress(value);");
+    assertThat(generated).contains("return object.getProgress();");
+  }
+
+  @Test
+  public void namesNestedAndGenericTypes() throws IOException {
+    String generated = compile("com.example.Outer",
+      "package com.example;\n"
+        + "import com.google.android.material.motion.family.tween.Tweenable;\n"
+        + "public class Outer {\n"
+        + "  static class Inner<T> {\n"
+        + "    @Tweenable float level;\n"
+        + "  }\n"
+        + "}", "com/example/Outer_InnerTweenProperties.java");
+
+    assertThat(generated).contains("final class Outer_InnerTweenProperties");
+    assertThat(generated).doesNotContain("public final class");
+    assertThat(generated).contains("FloatTweenProperty<Outer.Inner<?>> LEVEL");
+  }
+
+  @Test
+  public void rejectsNonFloatField() throws IOException {
+    compile("com.example.Ring",
+      "package com.example;\n"
+        + "import com.google.android.material.motion.family.tween.Tweenable;\n"
+        + "public class Ring {\n"
+        + "  @Tweenable int color;\n"
+        + "}", null);
+
+    assertThat(getErrors()).contains("@Tweenable fields must be of type float");
+  }
+
+  @Test
+  public void rejectsSetterWithoutGetter() throws IOException {
+    compile("com.example.Ring",
+      "package com.example;\n"
+        + "import com.google.android.material.motion.family.tween.Tweenable;\n"
+        + "public class Ring {\n"
+        + "  @Tweenable void setProgress(float progress) {}\n"
+        + "}", null);
+
+    assertThat(getErrors()).contains("@Tweenable setter setProgress needs a float getProgress()");
+  }
+
+  @Test
+  public void convertsNames() {
+    assertThat(TweenableProcessor.stripPrefix("mCornerRadius")).isEqualTo("cornerRadius");
+    assertThat(TweenableProcessor.stripPrefix("max")).isEqualTo("max");
+    assertThat(TweenableProcessor.toConstantName("cornerRadius")).isEqualTo("CORNER_RADIUS");
+    assertThat(TweenableProcessor.toConstantName("alphaX")).isEqualTo("ALPHA_X");
+  }
+
+  private String compile(String name, String source) throws IOException {
+    String path = name.replace('.', '/') + TweenableProcessor.SUFFIX + ".java";
+    String generated = compile(name, source, path);
+    assertThat(getErrors()).isEmpty();
+    return generated;
+  }
+
+  /**
+   * Compiles the given source and the library stand-ins with the processor, and returns the
+   * contents of the generated file at the given path, if any.
+   */
+  private String compile(String name, String source, String generatedPath) throws IOException {
+    List<JavaFileObject> sources = new ArrayList<>();
+    for (String[] library : LIBRARY) {
+      sources.add(new Source(library[0], library[1]));
+    }
+    sources.add(new Source(name, source));
+
+    File generatedDir = folder.newFolder();
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, null);
+    List<String> options = Arrays.asList(
+      "-d", folder.newFolder().getPath(), "-s", generatedDir.getPath());
+    JavaCompiler.CompilationTask task =
+      compiler.getTask(null, files, diagnostics, options, null, sources);
+    task.setProcessors(Arrays.asList(new TweenableProcessor()));
+    task.call();
+    files.close();
+
+    if (generatedPath == null) {
+      return null;
+    }
+    File generated = new File(generatedDir, generatedPath);
+    assertThat(generated.exists()).isTrue();
+    return new String(Files.readAllBytes(generated.toPath()), StandardCharsets.UTF_8);
+  }
+
+  private String getErrors() {
+    StringBuilder errors = new StringBuilder();
+    for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+      if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+        errors.append(diagnostic.getMessage(null)).append('\n');
+      }
+    }
+    return errors.toString();
+  }
+
+  private static class Source extends SimpleJavaFileObject {
+
+    private final String content;
+
+    Source(String name, String content) {
+      super(URI.create("string:///" + name.replace('.', '/') + Kind.SOURCE.extension),
+        Kind.SOURCE);
+      this.content = content;
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+      return content;
+    }
+  }
+}
@@ -22,6 +22,7 @@ import android.view.MotionEvent;
 import android.view.View;
 import android.view.View.OnTouchListener;
 
+import com.google.android.material.motion.family.tween.FloatTween;
 import com.google.android.material.motion.family.tween.Tween;
 import com.google.android.material.motion.family.tween.TweenProperty;
 import com.google.android.material.motion.runtime.MotionRuntime;
@@ -45,8 +46,10 @@ public class MainActivity extends AppCompatActivity {
     content.setOnTouchListener(new OnTouchListener() {
       @Override
       public boolean onTouch(View view, MotionEvent event) {
-        Tween<Float> tweenScale = new Tween<>(TweenProperty.SCALE, 300, 1f);
-        Tween<Integer> tweenBackgroundColor = new Tween<>(TweenProperty.BACKGROUND_COLOR, 300, Color.RED);
+        // Each new tween cancels the previous tween of the same property.
+        FloatTween tweenScale = new FloatTween(TweenProperty.SCALE, 300, 1f);
+        Tween<Integer> tweenBackgroundColor =
+          new Tween<>(TweenProperty.BACKGROUND_COLOR, 300, Color.RED);
 
         switch (event.getActionMasked()) {
           case MotionEvent.ACTION_DOWN: